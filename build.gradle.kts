@@ -21,6 +21,16 @@ dependencies {
 	testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.9.0")
 }
 
+sourceSets {
+	create("benchmark") {
+		compileClasspath += sourceSets.main.get().output
+		runtimeClasspath += sourceSets.main.get().output
+	}
+}
+
+configurations["benchmarkImplementation"].extendsFrom(configurations.implementation.get())
+configurations["benchmarkRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 javafx {
 	version = "17"
 	modules = listOf("javafx.controls", "javafx.fxml")
@@ -30,4 +40,18 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.register<JavaExec>("executionModeBenchmark") {
+	description = "Compares the platform and the virtual threads"
+	group = "benchmark"
+	classpath = sourceSets["benchmark"].runtimeClasspath
+	mainClass.set("project.models.game.network.ExecutionModeBenchmark")
+}
+
+tasks.register<JavaExec>("codecBenchmark") {
+	description = "Measures the encode/decode round trips of the codec"
+	group = "benchmark"
+	classpath = sourceSets["benchmark"].runtimeClasspath
+	mainClass.set("project.models.game.network.CodecBenchmark")
+}
+
 application.mainClass.set("project.Main")
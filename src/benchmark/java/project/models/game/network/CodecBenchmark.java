@@ -0,0 +1,47 @@
+package project.models.game.network;
+
+import project.models.game.words.Word;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Measures the encode/decode round trips of a word response through the
+ * codec and the buffer pool. Each round is timed and the best one is kept,
+ * the first rounds warm the JIT up.
+ */
+public final class CodecBenchmark {
+	private static final int ROUNDS = 5;
+	private static final int COUNT = 1_000_000;
+
+	private CodecBenchmark() {}
+
+	public static void main(String[] args) throws IOException {
+		var message = Response.word(Word.normal("bonjour"));
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < ROUNDS; i++)
+			best = Math.min(best, roundTrips(message));
+		System.out.printf(
+				"%d encode/decode round trips per second%n",
+				COUNT * 1_000_000_000L / best
+		);
+	}
+
+	/**
+	 * Encode and decode a message, the length prefix of the frame is skipped
+	 *
+	 * @param message the message
+	 * @return the time of the round trips, in nanoseconds
+	 * @throws IOException if the message cannot be encoded or decoded
+	 */
+	private static long roundTrips(Object message) throws IOException {
+		long start = System.nanoTime();
+		for(int i = 0; i < COUNT; i++) {
+			ByteBuffer frame = Codec.encode(message);
+			frame.position(frame.position() + 1);
+			Codec.decode(frame);
+			BufferPool.release(frame);
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -0,0 +1,117 @@
+package project.models.game.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the platform and the virtual execution modes: the time to start
+ * blocked threads and the time of concurrent round trips to a server. The
+ * modes which are not supported by the runtime are skipped. Each measure is
+ * repeated and the best time is kept, the first rounds warm the JIT up.
+ */
+public final class ExecutionModeBenchmark {
+	private static final int ROUNDS = 5;
+	private static final int THREADS = 10_000;
+	private static final int SENDERS = 200;
+	private static final int REQUESTS = 100;
+	private static final int PORT = 3500;
+
+	private ExecutionModeBenchmark() {}
+
+	public static void main(String[] args)
+	throws IOException, InterruptedException {
+		int port = PORT;
+		for(ExecutionMode mode: ExecutionMode.values()) {
+			if(!mode.isSupported()) {
+				System.out.println(mode + " threads are not supported, skipped");
+				continue;
+			}
+			long blocked = Long.MAX_VALUE, roundTrips = Long.MAX_VALUE;
+			for(int i = 0; i < ROUNDS; i++) {
+				blocked = Math.min(blocked, blockedThreads(mode));
+				roundTrips = Math.min(roundTrips, roundTrips(mode, port++));
+			}
+			System.out.printf(
+					"%s: %d blocked threads started in %d ms%n",
+					mode, THREADS, blocked / 1_000_000
+			);
+			System.out.printf(
+					"%s: %d round trips from %d senders in %d ms%n",
+					mode, SENDERS * REQUESTS, SENDERS, roundTrips / 1_000_000
+			);
+		}
+	}
+
+	/**
+	 * Start threads which block until they are all started
+	 *
+	 * @param mode the mode of the threads
+	 * @return the time to start them, in nanoseconds
+	 */
+	private static long blockedThreads(ExecutionMode mode)
+	throws InterruptedException {
+		var release = new CountDownLatch(1);
+		var started = new CountDownLatch(THREADS);
+		var threads = new Thread[THREADS];
+		long start = System.nanoTime();
+		for(int i = 0; i < THREADS; i++) {
+			threads[i] = mode.newThread(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch(InterruptedException ignored) {}
+			}, "Blocked " + i);
+			threads[i].start();
+		}
+		started.await();
+		long elapsed = System.nanoTime() - start;
+		release.countDown();
+		for(Thread thread: threads)
+			thread.join();
+		return elapsed;
+	}
+
+	/**
+	 * Send requests from concurrent senders to a server, each sender waits
+	 * for a response before its next request
+	 *
+	 * @param mode the mode of the server, the client and the senders
+	 * @param port the port of the server
+	 * @return the time of the round trips, in nanoseconds
+	 */
+	private static long roundTrips(ExecutionMode mode, int port)
+	throws IOException, InterruptedException {
+		var server = new Server(port, mode);
+		server.start();
+		var client = new Client(InetAddress.getLoopbackAddress(), port, mode);
+		client.start();
+
+		var received = new AtomicInteger();
+		var senders = new Thread[SENDERS];
+		long start = System.nanoTime();
+		for(int i = 0; i < SENDERS; i++) {
+			senders[i] = mode.newThread(() -> {
+				try {
+					for(int j = 0; j < REQUESTS; j++) {
+						client.call(Request.configuration()).join();
+						received.incrementAndGet();
+					}
+				} catch(CompletionException ignored) {}
+			}, "Sender " + i);
+			senders[i].start();
+		}
+		for(Thread sender: senders)
+			sender.join();
+		long elapsed = System.nanoTime() - start;
+
+		client.stop();
+		server.stop();
+		if(received.get() != SENDERS * REQUESTS)
+			System.out.printf(
+					"%s: only %d responses received%n", mode, received.get());
+		return elapsed;
+	}
+}
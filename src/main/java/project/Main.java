@@ -2,10 +2,14 @@ package project;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import project.controllers.GameController;
 import project.controllers.NetworkController;
 import project.controllers.MenuController;
+import project.models.game.network.ExecutionMode;
+import project.views.game.GameView;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 public class Main extends Application {
 	public static void main(String[] args) {
@@ -13,6 +17,32 @@ public class Main extends Application {
 	}
 
 	@Override public void start(Stage primaryStage) {
+		// --renderer=Canvas draws the words on a canvas instead of a text area
+		String renderer = getParameters().getNamed().get("renderer");
+		if(renderer != null) {
+			try {
+				GameController.getInstance()
+							  .setRenderer(GameView.Renderer.valueOf(renderer));
+			} catch(IllegalArgumentException e) {
+				System.err.println(
+						"Unknown renderer " + renderer + ", expected one of " +
+								Arrays.toString(GameView.Renderer.values()));
+			}
+		}
+		// --threads=Virtual runs the network on virtual threads
+		String threads = getParameters().getNamed().get("threads");
+		if(threads != null) {
+			try {
+				NetworkController.getInstance()
+								 .setExecutionMode(ExecutionMode.valueOf(threads));
+			} catch(IllegalArgumentException e) {
+				System.err.println(
+						"Unknown threads " + threads + ", expected one of " +
+								Arrays.toString(ExecutionMode.values()));
+			} catch(UnsupportedOperationException e) {
+				System.err.println(e.getMessage() + ", platform threads are used");
+			}
+		}
 		primaryStage.setOnCloseRequest(e -> {
 			try {
 				NetworkController.getInstance().stop();
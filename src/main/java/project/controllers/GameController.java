@@ -1,11 +1,8 @@
 package project.controllers;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
 import javafx.event.EventHandler;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 import project.models.game.GameModel;
 import project.models.game.PlayerModel;
 import project.models.menu.MenuModel;
@@ -23,11 +20,16 @@ public final class GameController implements EventHandler<KeyEvent> {
 	 * @see #getInstance()
 	 */
 	private static final GameController instance = new GameController();
-	private final Timeline gameStatusCheck;
 	/**
 	 * Game mode enum chosen by the player in the menu
 	 */
 	private MenuModel.GameMode gameMode;
+	/**
+	 * Renderer used to draw the words of the next games
+	 *
+	 * @see #setRenderer(GameView.Renderer)
+	 */
+	private GameView.Renderer renderer = GameView.Renderer.TextArea;
 	/**
 	 * GameView object reference
 	 *
@@ -41,15 +43,7 @@ public final class GameController implements EventHandler<KeyEvent> {
 	 */
 	private GameModel model;
 
-	private GameController() {
-		gameStatusCheck = new Timeline(
-				new KeyFrame(
-						Duration.millis(500),
-						event -> verifyGameEnd()
-				)
-		);
-		gameStatusCheck.setCycleCount(Timeline.INDEFINITE);
-	}
+	private GameController() {}
 
 	/**
 	 * Return the instance of the Game controller
@@ -78,6 +72,15 @@ public final class GameController implements EventHandler<KeyEvent> {
 		return model;
 	}
 
+	/**
+	 * Choose the renderer used to draw the words of the next games
+	 *
+	 * @param renderer the renderer
+	 */
+	public void setRenderer(GameView.Renderer renderer) {
+		this.renderer = renderer;
+	}
+
 	/**
 	 * Starts a normal game
 	 *
@@ -86,9 +89,8 @@ public final class GameController implements EventHandler<KeyEvent> {
 	public void startNormal(String name, int nbWords) {
 		this.gameMode = MenuModel.GameMode.Normal;
 		this.model = GameModel.Builder.soloNormal(name, nbWords);
-		this.view = new GameView(model);
+		this.view = new GameView(model, renderer);
 		this.model.addViewer(this::updateView);
-		gameStatusCheck.play();
 	}
 
 	/**
@@ -100,9 +102,8 @@ public final class GameController implements EventHandler<KeyEvent> {
 	public void startCompetitive(String name, int nbWords, int lives) {
 		this.gameMode = MenuModel.GameMode.Competitive;
 		this.model = GameModel.Builder.soloCompetitive(name, nbWords, lives);
-		this.view = new GameView(model);
+		this.view = new GameView(model, renderer);
 		this.model.addViewer(this::updateView);
-		gameStatusCheck.play();
 	}
 
 	public void startMultiplayer(
@@ -113,12 +114,17 @@ public final class GameController implements EventHandler<KeyEvent> {
 	) {
 		this.gameMode = mode;
 		this.model = GameModel.Builder.multiplayer(name, nbWords, nbLives);
-		this.view = new GameView(model);
+		this.view = new GameView(model, renderer);
 		this.model.addViewer(this::updateView);
 
+		// the server answers the players list from the last pushed state
+		var player = model.getPlayer();
+		var network = NetworkController.getInstance();
+		network.updatePlayer(player);
+		player.addViewer(() -> network.updatePlayer(player));
+
 		if(mode == MenuModel.GameMode.Host)
 			NetworkController.getInstance().gameStarted();
-		gameStatusCheck.play();
 	}
 
 	/**
@@ -138,10 +144,12 @@ public final class GameController implements EventHandler<KeyEvent> {
 	}
 
 	/**
-	 * Verify the game end depending on the mode
+	 * Verify the game end depending on the mode, after an input of the player.
+	 * In multiplayer, the server is told when the player is eliminated and
+	 * pushes the end of the match to the other players.
 	 */
 	private void verifyGameEnd() {
-		if(model == null)
+		if(model == null || model.hasEnded())
 			return;
 		switch(gameMode) {
 			case Normal -> {
@@ -154,29 +162,32 @@ public final class GameController implements EventHandler<KeyEvent> {
 					showStats();
 			}
 			case Host, Join -> {
-				if(!model.getPlayer().isAlive()) showStats();
-				try {
-					// Check if there is less than 2 players alive
-					long players = NetworkController.getInstance()
-													.getModel()
-													.getPlayersList()
-													.orElseThrow()
-													.parallelStream()
-													.filter(PlayerModel::isAlive)
-													.count();
-					if(players < 2) showStats();
-				} catch(IOException e) {
-					throw new RuntimeException(e);
+				if(!model.getPlayer().isAlive()) {
+					try {
+						NetworkController.getInstance()
+										 .getModel()
+										 .eliminated();
+					} catch(IOException e) {
+						throw new RuntimeException(e);
+					}
+					showStats();
 				}
 			}
 		}
 	}
 
+	/**
+	 * End the current game when the server pushes the end of the match
+	 */
+	public void matchOver() {
+		if(model != null && !model.hasEnded())
+			showStats();
+	}
+
 	/**
 	 * Show the stats screen and ends the current game
 	 */
 	private void showStats() {
-		gameStatusCheck.stop();
 		model.end();
 		view.setVisible(false);
 		StatsView statsView = new StatsView(
@@ -230,6 +241,7 @@ public final class GameController implements EventHandler<KeyEvent> {
 		}
 		model.getWords().nextLetter();
 		view.update();
+		verifyGameEnd();
 	}
 
 	/**
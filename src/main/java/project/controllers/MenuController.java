@@ -1,11 +1,14 @@
 package project.controllers;
 
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import project.models.menu.MenuModel;
 import project.views.menu.MenuView;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class MenuController {
 	/**
@@ -65,11 +68,13 @@ public class MenuController {
 	}
 
 	/**
-	 * Start a game depending on the game mode
+	 * Start a game depending on the game mode. A multiplayer game waits for
+	 * the network off the JavaFX thread and is started back on it.
 	 *
+	 * @return a future completed on the JavaFX thread once the game started
 	 * @throws Exception error on the menu configuration
 	 */
-	public void startGame() throws Exception {
+	public CompletableFuture<Void> startGame() throws Exception {
 		switch(model.getGameMode()) {
 			case Normal -> {
 				NetworkController.getInstance().stop();
@@ -79,6 +84,7 @@ public class MenuController {
 						model.getNbWord()
 				);
 				GameController.getInstance().getView().start(new Stage());
+				return CompletableFuture.completedFuture(null);
 			}
 			case Competitive -> {
 				NetworkController.getInstance().stop();
@@ -89,35 +95,55 @@ public class MenuController {
 						model.getLives()
 				);
 				GameController.getInstance().getView().start(new Stage());
+				return CompletableFuture.completedFuture(null);
 			}
 			case Host, Join -> {
 				if(!NetworkController.getInstance().isRunning())
 					throw new IllegalStateException(
 							"NetworkController is not running");
 
-				int nbPlayers = NetworkController.getInstance()
-												 .getNumberOfPlayers();
-				if(nbPlayers < 2)
-					throw new IllegalStateException("Not enough players");
-
-				MenuModel config = model;
-				if(model.getGameMode() == MenuModel.GameMode.Join) {
-					config = NetworkController.getInstance()
-											  .getModel()
-											  .getConfiguration()
-											  .orElseThrow();
-				}
-
-				view.setVisible(false);
-				GameController.getInstance()
-							  .startMultiplayer(
-									  model.getPlayerName(),
-									  config.getNbWord(),
-									  config.getLives(),
-									  model.getGameMode()
-							  );
-				GameController.getInstance().getView().start(new Stage());
+				CompletableFuture<MenuModel> config =
+						model.getGameMode() == MenuModel.GameMode.Join
+								? NetworkController.getInstance()
+												   .getModel()
+												   .getConfiguration()
+								: CompletableFuture.completedFuture(model);
+				return NetworkController.getInstance()
+										.getNumberOfPlayers()
+										.thenCombine(config, (nbPlayers, c) -> {
+											if(nbPlayers < 2)
+												throw new IllegalStateException(
+														"Not enough players");
+											return c;
+										})
+										.thenAcceptAsync(
+												this::startMultiplayer,
+												Platform::runLater
+										);
 			}
+			default -> throw new IllegalStateException(
+					"Unknown game mode " + model.getGameMode());
+		}
+	}
+
+	/**
+	 * Start a multiplayer game, on the JavaFX thread
+	 *
+	 * @param config the configuration of the game
+	 */
+	private void startMultiplayer(MenuModel config) {
+		view.setVisible(false);
+		GameController.getInstance()
+					  .startMultiplayer(
+							  model.getPlayerName(),
+							  config.getNbWord(),
+							  config.getLives(),
+							  model.getGameMode()
+					  );
+		try {
+			GameController.getInstance().getView().start(new Stage());
+		} catch(Exception e) {
+			throw new CompletionException(e);
 		}
 	}
 
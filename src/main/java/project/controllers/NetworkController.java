@@ -1,5 +1,7 @@
 package project.controllers;
 
+import project.models.game.PlayerModel;
+import project.models.game.network.ExecutionMode;
 import project.models.game.network.NetworkModel;
 import project.views.network.NetworkView;
 
@@ -8,6 +10,7 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for managing the network connection for a game.
@@ -31,6 +34,12 @@ public final class NetworkController {
 	 * @see #getModel()
 	 */
 	private NetworkModel model;
+	/**
+	 * Threads on which the next hosted or joined games run
+	 *
+	 * @see #setExecutionMode(ExecutionMode)
+	 */
+	private ExecutionMode mode = ExecutionMode.Platform;
 
 	private NetworkController() {}
 
@@ -68,6 +77,19 @@ public final class NetworkController {
 		}
 	}
 
+	/**
+	 * Chooses the threads on which the next hosted or joined games run.
+	 *
+	 * @param mode the execution mode
+	 * @throws UnsupportedOperationException if the runtime does not support it
+	 */
+	public void setExecutionMode(ExecutionMode mode) {
+		if(!mode.isSupported())
+			throw new UnsupportedOperationException(
+					mode + " threads are not supported by this runtime");
+		this.mode = mode;
+	}
+
 	/**
 	 * Hosts a game at the specified port.
 	 *
@@ -77,7 +99,10 @@ public final class NetworkController {
 	 */
 	public void host(int port) throws IOException, InterruptedException {
 		if(model != null) stop();
-		model = NetworkModel.host(port);
+		model = NetworkModel.host(port, mode);
+		updatePlayer(lobbyPlayer(MenuController.getInstance()
+											   .getModel()
+											   .getLives()));
 		view.setModel(model);
 		model.addViewer(view);
 		model.addViewer(MenuController.getInstance().getView());
@@ -94,8 +119,39 @@ public final class NetworkController {
 	public void join(InetAddress address, int port)
 	throws IOException, InterruptedException {
 		if(model != null) stop();
-		model = NetworkModel.join(address, port);
+		model = NetworkModel.join(address, port, mode);
+		updatePlayer(lobbyPlayer(MenuController.getInstance()
+											   .getModel()
+											   .getLives()));
 		view.setModel(model);
+		// the lives are chosen by the host
+		model.getConfiguration()
+			 .thenAccept(config -> updatePlayer(lobbyPlayer(config.getLives())));
+	}
+
+	/**
+	 * Returns the player shown to the other players before the game starts.
+	 *
+	 * @param lives the lives of the game
+	 * @return the player
+	 */
+	private static PlayerModel lobbyPlayer(int lives) {
+		String name = MenuController.getInstance().getModel().getPlayerName();
+		return PlayerModel.withLivesAndLevel(name, lives);
+	}
+
+	/**
+	 * Pushes the state of the player to the server, if a network model is
+	 * running.
+	 *
+	 * @param player the player
+	 */
+	public void updatePlayer(PlayerModel player) {
+		var model = this.model;
+		if(model == null) return;
+		try {
+			model.updatePlayer(player);
+		} catch(IOException ignored) {}
 	}
 
 	/**
@@ -140,10 +196,11 @@ public final class NetworkController {
 	/**
 	 * Return the number of players in the current game, by default 0.
 	 *
-	 * @return the number of players in the current game
+	 * @return a future of the number of players in the current game
 	 */
-	public int getNumberOfPlayers() {
-		return model.getNumberOfPlayers().orElse(0);
+	public CompletableFuture<Integer> getNumberOfPlayers() {
+		return model.getNumberOfPlayers()
+					.exceptionally(e -> 0);
 	}
 
 	/**
@@ -97,7 +97,7 @@ public final class GameModel extends Model {
 	}
 
 	public boolean hasEnded() {
-		return running;
+		return !running;
 	}
 
 	/**
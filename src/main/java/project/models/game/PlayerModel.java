@@ -56,6 +56,48 @@ public sealed abstract class PlayerModel extends Model implements Serializable,
 		return new WithLivesAndLevel(name, lives);
 	}
 
+	/**
+	 * Restore a player without lives and level, as it was sent through
+	 * the network
+	 *
+	 * @param name           The player's name
+	 * @param score          The score of the player
+	 * @param nbCorrectWords The number of correct words of the player
+	 * @return the player model
+	 */
+	public static PlayerModel restore(String name, int score, int nbCorrectWords) {
+		return restore(new WithoutLivesAndLevel(name), score, nbCorrectWords);
+	}
+
+	/**
+	 * Restore a player with lives and level, as it was sent through
+	 * the network
+	 *
+	 * @param name           The player's name
+	 * @param lives          The lives of the player
+	 * @param score          The score of the player
+	 * @param nbCorrectWords The number of correct words of the player
+	 * @return the player model
+	 */
+	public static PlayerModel restore(
+			String name,
+			int lives,
+			int score,
+			int nbCorrectWords
+	) {
+		return restore(new WithLivesAndLevel(name, lives), score, nbCorrectWords);
+	}
+
+	private static PlayerModel restore(
+			PlayerModel player,
+			int score,
+			int nbCorrectWords
+	) {
+		player.score = score;
+		player.nbCorrectWords = nbCorrectWords;
+		return player;
+	}
+
 	/**
 	 * Get the player's name
 	 *
@@ -101,6 +143,15 @@ public sealed abstract class PlayerModel extends Model implements Serializable,
 		return nbCorrectWords;
 	}
 
+	/**
+	 * Get if the player has lives and a level
+	 *
+	 * @return false by default
+	 */
+	public boolean hasLives() {
+		return false;
+	}
+
 	/**
 	 * Get if the player is still alive
 	 *
@@ -182,6 +233,10 @@ public sealed abstract class PlayerModel extends Model implements Serializable,
 			this.lives = lives;
 		}
 
+		@Override public boolean hasLives() {
+			return true;
+		}
+
 		@Override public int getLives() {
 			return lives;
 		}
@@ -0,0 +1,229 @@
+package project.models.game.network;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A queue of messages with a maximum size. When it is full, a new message
+ * follows the overflow policy of its own type.
+ *
+ * @param <E> the type of the messages
+ * @see Overflow
+ */
+final class BoundedQueue<E> {
+	private final ArrayDeque<E> elements;
+	private final int capacity;
+	private final Function<? super E, Overflow> overflow;
+	/**
+	 * Called with the messages dropped to make room
+	 */
+	private final Consumer<? super E> onDrop;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong refused = new AtomicLong();
+
+	/**
+	 * @param capacity the maximum number of queued messages
+	 * @param overflow the overflow policy of each message
+	 * @param onDrop   called with the messages dropped to make room
+	 */
+	BoundedQueue(
+			int capacity,
+			Function<? super E, Overflow> overflow,
+			Consumer<? super E> onDrop
+	) {
+		this.elements = new ArrayDeque<>(Math.min(capacity, 64));
+		this.capacity = capacity;
+		this.overflow = overflow;
+		this.onDrop = onDrop;
+	}
+
+	/**
+	 * A queue whose messages all follow the same overflow policy
+	 *
+	 * @param capacity the maximum number of queued messages
+	 * @param overflow the overflow policy
+	 */
+	BoundedQueue(int capacity, Overflow overflow) {
+		this(capacity, e -> overflow, e -> {});
+	}
+
+	/**
+	 * Queue a message, dropping an older one if the queue is full and the
+	 * policy of the message allows it. The sender never waits.
+	 *
+	 * @param e the message
+	 * @return false if the message found no room, the connection should
+	 * be closed
+	 */
+	boolean offer(E e) {
+		E old = null;
+		lock.lock();
+		try {
+			if(elements.size() < capacity) {
+				add(e);
+				return true;
+			}
+			switch(overflow.apply(e)) {
+				case DropOldest -> {
+					old = removeOldestDroppable();
+					// no older state to replace, the new one is dropped
+					if(old == null) old = e;
+					else add(e);
+					dropped.incrementAndGet();
+					return true;
+				}
+				case Evict -> {
+					old = removeOldestDroppable();
+					if(old != null) {
+						add(e);
+						dropped.incrementAndGet();
+						return true;
+					}
+				}
+				case Disconnect -> {}
+			}
+			refused.incrementAndGet();
+			return false;
+		} finally {
+			lock.unlock();
+			if(old != null) onDrop.accept(old);
+		}
+	}
+
+	private void add(E e) {
+		elements.add(e);
+		notEmpty.signal();
+	}
+
+	private E removeOldestDroppable() {
+		for(Iterator<E> it = elements.iterator(); it.hasNext(); ) {
+			E e = it.next();
+			if(overflow.apply(e) == Overflow.DropOldest) {
+				it.remove();
+				return e;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Take the oldest message
+	 *
+	 * @return the message, or null if the queue is empty
+	 */
+	E poll() {
+		lock.lock();
+		try {
+			return elements.poll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Wait for a message and take it
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit    the unit of the timeout
+	 * @return the message, or null if the timeout is reached
+	 * @throws InterruptedException if the current thread is interrupted
+	 */
+	E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while(elements.isEmpty()) {
+				if(nanos <= 0) return null;
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return elements.poll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Wait for a message and take it
+	 *
+	 * @return the message
+	 * @throws InterruptedException if the current thread is interrupted
+	 */
+	E take() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while(elements.isEmpty())
+				notEmpty.await();
+			return elements.poll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Take every queued message
+	 *
+	 * @param collection the collection to add the messages to
+	 */
+	void drainTo(Collection<? super E> collection) {
+		lock.lock();
+		try {
+			collection.addAll(elements);
+			elements.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	boolean isEmpty() {
+		lock.lock();
+		try {
+			return elements.isEmpty();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Call the action with every queued message, in order
+	 *
+	 * @param action the action
+	 */
+	void forEach(Consumer<? super E> action) {
+		lock.lock();
+		try {
+			elements.forEach(action);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the counters of this queue
+	 *
+	 * @return the counters
+	 */
+	QueueStats getStats() {
+		int depth;
+		lock.lock();
+		try {
+			depth = elements.size();
+		} finally {
+			lock.unlock();
+		}
+		return new QueueStats(
+				depth,
+				capacity,
+				dropped.get(),
+				refused.get()
+		);
+	}
+}
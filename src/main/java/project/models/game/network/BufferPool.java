@@ -0,0 +1,53 @@
+package project.models.game.network;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of heap buffers of a fixed size, the buffers of another size are
+ * never pooled so a large message does not pin a large buffer
+ */
+final class BufferPool {
+	/**
+	 * The size of the pooled buffers
+	 */
+	static final int SIZE = 4096;
+	/**
+	 * The maximum number of idle buffers kept in the pool
+	 */
+	private static final int MAX_IDLE = 256;
+	private static final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger idleCount = new AtomicInteger();
+
+	private BufferPool() {}
+
+	/**
+	 * Take a cleared buffer of at least the given capacity
+	 *
+	 * @param capacity the minimum capacity
+	 * @return the buffer, in write mode
+	 */
+	static ByteBuffer acquire(int capacity) {
+		if(capacity > SIZE) return ByteBuffer.allocate(capacity);
+		ByteBuffer buffer = idle.poll();
+		if(buffer == null) return ByteBuffer.allocate(SIZE);
+		idleCount.decrementAndGet();
+		return buffer.clear();
+	}
+
+	/**
+	 * Give a buffer back to the pool, it must not be used afterwards
+	 *
+	 * @param buffer the buffer
+	 */
+	static void release(ByteBuffer buffer) {
+		if(buffer.capacity() != SIZE || buffer.isReadOnly()) return;
+		if(idleCount.incrementAndGet() > MAX_IDLE) {
+			idleCount.decrementAndGet();
+			return;
+		}
+		idle.offer(buffer);
+	}
+}
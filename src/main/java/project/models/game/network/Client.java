@@ -1,28 +1,77 @@
 package project.models.game.network;
 
 import project.models.Model;
+import project.models.game.PlayerModel;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * The client that connects to the server
  */
 public final class Client extends Model {
+	/**
+	 * The maximum number of requests of the server waiting to be handled
+	 */
+	static final int MAX_REQUESTS = 256;
+	/**
+	 * The maximum number of frames waiting to be written
+	 */
+	static final int MAX_OUTBOUND = 1024;
+	/**
+	 * The maximum number of pushed responses of a type not yet received,
+	 * beyond the policy of the type applies
+	 *
+	 * @see Overflow#of(Type)
+	 */
+	static final int MAX_RESPONSES = 64;
+	/**
+	 * The default time between two deltas of the streamed player, 20 per
+	 * second
+	 */
+	public static final long DEFAULT_TICK = 50;
+	/**
+	 * The default time without any message from the server after which the
+	 * connection is considered lost, the server pings every second
+	 */
+	public static final int DEFAULT_IDLE_TIMEOUT = 5000;
 	private final Socket socket;
-	private final Map<Type, Queue<Response>> responses;
-	private final Queue<Request> requests;
-	private final Map<Type, Handler> handlers;
-	private final ObjectOutputStream output;
-	private final ObjectInputStream input;
+	/**
+	 * The responses pushed by the server, which answer no pending call
+	 */
+	private final Map<Type, BoundedQueue<Response>> responses;
+	/**
+	 * The calls waiting for their response, by request id
+	 *
+	 * @see #call(Request, long)
+	 */
+	private final Map<Integer, CompletableFuture<Response>> pending;
+	private final AtomicInteger ids;
+	private final BoundedQueue<Request> requests;
+	/**
+	 * The frames to write, written in batches by a single thread
+	 */
+	private final BoundedQueue<ByteBuffer> outbound;
+	private final Dispatcher handlers;
+	private final DataOutputStream output;
+	private final DataInputStream input;
 	/**
 	 * A thread who listen for incoming requests and responses
 	 */
@@ -31,16 +80,101 @@ public final class Client extends Model {
 	 * A thread who responds to the requests
 	 */
 	private final Thread responding;
+	/**
+	 * A thread who writes the queued frames
+	 */
+	private final Thread writing;
+	/**
+	 * A thread who sends the changes of the streamed player
+	 */
+	private final Thread streaming;
+	/**
+	 * The player whose changes are streamed to the server
+	 *
+	 * @see #stream(PlayerModel)
+	 */
+	private PlayerModel streamed;
+	/**
+	 * The last state of the streamed player sent to the server
+	 */
+	private final int[] sent = new int[4];
+	private final AtomicBoolean changed = new AtomicBoolean();
+	private final Semaphore changes = new Semaphore(0);
+	private volatile long tick = DEFAULT_TICK;
+	/**
+	 * The last known fields of the other players of the room, by session
+	 *
+	 * @see #getRoom()
+	 */
+	private final Map<Long, PlayerDelta> room = new ConcurrentHashMap<>();
+	/**
+	 * The last lobby pushed by the server, null until subscribed
+	 *
+	 * @see #subscribe(Consumer)
+	 */
+	private volatile List<PlayerModel> lobby;
+	private long lobbyVersion = -1;
+	private volatile Consumer<List<PlayerModel>> lobbyListener;
+	/**
+	 * The executor on which the responses are sent
+	 */
+	private final HandlerExecutor executor;
+	/**
+	 * The session id given by the server, -1 until it is received
+	 *
+	 * @see #getSession()
+	 */
+	private volatile long session = -1;
+	/**
+	 * Whether the connection is still open
+	 *
+	 * @see #isConnected()
+	 */
+	private volatile boolean connected = true;
 
 	public Client(InetAddress address, int port) throws IOException {
-		this.handlers = new ConcurrentHashMap<>();
-		this.handlers.put(Type.PlayerModel, Handler.playerModelRequest());
-		this.handlers.put(Type.GameStart, Handler.gameStartRequest());
+		this(address, port, ExecutionMode.Platform);
+	}
 
-		this.requests = new ConcurrentLinkedQueue<>();
+	/**
+	 * Connect to the server at the given address and port
+	 *
+	 * @param address the address of the server
+	 * @param port    the port of the server
+	 * @param mode    the threads on which the client and its handlers run
+	 * @throws IOException if the connection fails
+	 */
+	public Client(InetAddress address, int port, ExecutionMode mode)
+	throws IOException {
+		this.executor = new HandlerExecutor(
+				"Client responses", mode, 1, 256,
+				HandlerExecutor.Policy.CallerRuns
+		);
+		this.handlers = new Dispatcher();
+		this.handlers.register(Type.GameStart, Handler.gameStartRequest());
+		this.handlers.register(Type.MatchOver, Handler.matchOverRequest());
+		this.handlers.register(Type.Session, Handler.sessionRequest(this));
+		this.handlers.register(Type.PlayerDelta, Handler.playerDeltaRequest(this));
+		this.handlers.register(Type.Lobby, Handler.lobbyRequest(this));
+
+		this.requests = new BoundedQueue<>(
+				MAX_REQUESTS,
+				request -> Overflow.of(request.getType()),
+				request -> {}
+		);
+		this.outbound = new BoundedQueue<>(
+				MAX_OUTBOUND,
+				frame -> Overflow.of(Codec.peekType(frame)),
+				BufferPool::release
+		);
 		this.responses = new ConcurrentHashMap<>();
+		this.pending = new ConcurrentHashMap<>();
+		this.ids = new AtomicInteger();
 		for(var type: Type.values())
-			this.responses.put(type, new ConcurrentLinkedQueue<>());
+			this.responses.put(
+					type,
+					new BoundedQueue<>(MAX_RESPONSES, Overflow.of(type))
+			);
 
 		this.socket = new Socket(address, port);
 		if(this.socket.isClosed())
@@ -56,10 +190,17 @@ public final class Client extends Model {
 		else if(this.socket.isClosed())
 			throw new IOException("Socket is closed");
 
-		this.output = new ObjectOutputStream(socket.getOutputStream());
-		this.input = new ObjectInputStream(socket.getInputStream());
-		this.listening = new Thread(this::listen, "Client listening");
-		this.responding = new Thread(this::respond, "Client responding");
+		this.socket.setSoTimeout(DEFAULT_IDLE_TIMEOUT);
+		this.output = new DataOutputStream(
+				new BufferedOutputStream(socket.getOutputStream()));
+		this.input = new DataInputStream(
+				new BufferedInputStream(socket.getInputStream()));
+		this.listening = mode.newThread(this::listen, "Client listening");
+		this.responding = mode.newThread(this::respond, "Client responding");
+		this.writing = mode.newThread(this::write, "Client writing");
+		this.streaming = mode.newThread(this::streamChanges, "Client streaming");
+		// the hello is the first frame written once the client is started
+		send(Request.hello(Server.PROTOCOL_VERSION));
 	}
 
 	/**
@@ -68,6 +209,8 @@ public final class Client extends Model {
 	public void start() {
 		listening.start();
 		responding.start();
+		writing.start();
+		streaming.start();
 	}
 
 	/**
@@ -80,12 +223,79 @@ public final class Client extends Model {
 		socket.close();
 		listening.interrupt();
 		responding.interrupt();
+		writing.interrupt();
+		streaming.interrupt();
 		listening.join();
 		responding.join();
+		writing.join();
+		streaming.join();
+		executor.shutdown();
+	}
+
+	/**
+	 * Get the executors of the handlers, to read their counters or change
+	 * their policy
+	 *
+	 * @return the executors
+	 */
+	public List<HandlerExecutor> getExecutors() {
+		return List.of(executor);
+	}
+
+	/**
+	 * Add an interceptor around every handler of the client
+	 *
+	 * @param interceptor the interceptor
+	 */
+	public void addInterceptor(Interceptor interceptor) {
+		handlers.intercept(interceptor);
+	}
+
+	private void send(ByteBuffer frame) throws IOException {
+		if(socket.isClosed()) {
+			BufferPool.release(frame);
+			throw new IOException("Socket is closed");
+		}
+		if(!outbound.offer(frame)) {
+			BufferPool.release(frame);
+			// like the server, a refused frame closes the connection rather
+			// than losing a delta or a call silently
+			disconnect();
+			throw new IOException("Too many frames waiting to be written");
+		}
+	}
+
+	/**
+	 * Write every queued frame with a single flush, then wait for the next
+	 */
+	private void write() {
+		var batch = new ArrayList<ByteBuffer>();
+		while(!Thread.interrupted()) {
+			try {
+				batch.add(outbound.take());
+				outbound.drainTo(batch);
+				for(ByteBuffer frame: batch)
+					output.write(
+							frame.array(),
+							frame.arrayOffset() + frame.position(),
+							frame.remaining()
+					);
+				output.flush();
+			} catch(InterruptedException e) {
+				return;
+			} catch(IOException ignored) {
+			} finally {
+				batch.forEach(BufferPool::release);
+				batch.clear();
+			}
+		}
 	}
 
-	private void send(Object obj) throws IOException {
-		output.writeObject(obj);
+	private byte[] read() throws IOException {
+		int length = Codec.readLength(input);
+		byte[] payload = new byte[length];
+		input.readFully(payload);
+		return payload;
 	}
 
 	/**
@@ -95,50 +305,253 @@ public final class Client extends Model {
 	 * @throws IOException if an I/O error occurs when sending the request
 	 */
 	public void send(Request request) throws IOException {
-		send((Object) request);
+		send(Codec.encode(request));
+	}
+
+	/**
+	 * Send the request to the server and wait at most 1 second for its
+	 * response
+	 *
+	 * @param request the request to send
+	 * @return a future of the response, completed exceptionally if the request
+	 * cannot be sent or if the timeout is reached
+	 */
+	public CompletableFuture<Response> call(Request request) {
+		return call(request, 1000);
+	}
+
+	/**
+	 * Send the request to the server and wait for its response. The response
+	 * is matched with the request by its id, so any number of calls can be
+	 * pending on the connection.
+	 *
+	 * @param request the request to send
+	 * @param timeout the maximum time to wait for the response in milliseconds
+	 * @return a future of the response, completed exceptionally if the request
+	 * cannot be sent, if the server refuses it or if the timeout is reached
+	 */
+	public CompletableFuture<Response> call(Request request, long timeout) {
+		int id = nextId();
+		request.setId(id);
+		var future = new CompletableFuture<Response>();
+		pending.put(id, future);
+		future.orTimeout(timeout, TimeUnit.MILLISECONDS)
+			  .whenComplete((response, e) -> pending.remove(id));
+		try {
+			send(request);
+		} catch(IOException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Stream the changes of the player to the server. A new player is sent
+	 * whole, then the changes of the same player are sent as deltas of the
+	 * changed fields, at most once per tick.
+	 *
+	 * @param player the player, called again whenever it changes
+	 * @throws IOException if an I/O error occurs when sending the player
+	 * @see #setTick(long)
+	 */
+	public void stream(PlayerModel player) throws IOException {
+		synchronized(sent) {
+			if(player != streamed) {
+				streamed = player;
+				PlayerDelta.snapshot(sent, player);
+				send(Request.playerState(player));
+				return;
+			}
+		}
+		if(changed.compareAndSet(false, true))
+			changes.release();
+	}
+
+	/**
+	 * Set the time between two deltas of the streamed player, the changes
+	 * made in between are sent together
+	 *
+	 * @param tick the time in milliseconds
+	 */
+	public void setTick(long tick) {
+		this.tick = tick;
+	}
+
+	/**
+	 * Send the changes of the streamed player when there are some, then
+	 * wait for a tick so the next changes are coalesced
+	 */
+	private void streamChanges() {
+		while(!Thread.interrupted()) {
+			try {
+				changes.acquire();
+				changed.set(false);
+				PlayerDelta delta;
+				synchronized(sent) {
+					delta = PlayerDelta.between(sent, streamed);
+				}
+				if(!delta.isEmpty()) send(Request.playerDelta(delta));
+				Thread.sleep(tick);
+			} catch(InterruptedException e) {
+				return;
+			} catch(IOException ignored) {}
+		}
+	}
+
+	void updateRoom(PlayerDelta delta) {
+		room.merge(delta.session(), delta, PlayerDelta::merge);
+	}
+
+	/**
+	 * Get the last known fields of the other players of the room, merged
+	 * from the deltas forwarded by the server
+	 *
+	 * @return the fields by session
+	 */
+	public Map<Long, PlayerDelta> getRoom() {
+		return Collections.unmodifiableMap(room);
+	}
+
+	/**
+	 * Ask the server to push the lobby now and whenever it changes, instead
+	 * of requesting the players list
+	 *
+	 * @param listener called with the players of each lobby received, on
+	 *                 the thread of the client
+	 * @throws IOException if an I/O error occurs when sending the request
+	 */
+	public void subscribe(Consumer<List<PlayerModel>> listener)
+	throws IOException {
+		lobbyListener = listener;
+		send(Request.subscribe());
+	}
+
+	synchronized void updateLobby(long version, List<PlayerModel> players) {
+		// the first lobby is sent by the handler of the subscription and
+		// may arrive after a lobby sent by the publisher
+		if(version < lobbyVersion) return;
+		lobbyVersion = version;
+		lobby = players;
+		var listener = lobbyListener;
+		if(listener != null) listener.accept(players);
+	}
+
+	/**
+	 * Get the last lobby pushed by the server
+	 *
+	 * @return the players of the lobby, or null if none was received
+	 */
+	public List<PlayerModel> getLobby() {
+		return lobby;
+	}
+
+	private int nextId() {
+		int id = ids.incrementAndGet();
+		// 0 is the id of the requests without response
+		return id != 0 ? id : ids.incrementAndGet();
 	}
 
 	private void listen() {
 		while(!Thread.interrupted()) {
+			byte[] payload;
+			try {
+				payload = read();
+			} catch(IOException e) {
+				// closed by either side, or silent for the idle timeout
+				disconnect();
+				return;
+			}
 			try {
-				Object obj = input.readObject();
-				if(obj instanceof Response response)
-					responses.get(response.getType())
-							 .add(response);
-				else if(obj instanceof Request request)
-					requests.add(request);
-			} catch(IOException | ClassCastException |
-					ClassNotFoundException ignored) {}
-			Thread.onSpinWait();
+				Object obj = Codec.decode(ByteBuffer.wrap(payload));
+				if(obj instanceof Response response) {
+					var future = pending.remove(response.getCorrelation());
+					if(future != null && response instanceof Response.ErrorResponse error)
+						future.completeExceptionally(new IOException(error.getMessage()));
+					else if(future != null) future.complete(response);
+					// the reply to a call which timed out is not pushed
+					else if(response.getCorrelation() != 0) continue;
+					else if(!responses.get(response.getType()).offer(response)) {
+						// a pushed word is game data and is never dropped
+						disconnect();
+						return;
+					}
+				} else if(obj instanceof Request.HeartbeatRequest ping &&
+						ping.getType() == Type.Ping)
+					send(Request.pong(ping.getTime()));
+				else if(obj instanceof Request request &&
+						!requests.offer(request)) {
+					// the responder is stuck, a lost match over would never
+					// end the game
+					disconnect();
+					return;
+				}
+			} catch(IOException ignored) {}
 		}
 	}
 
+	/**
+	 * Close the lost connection, stop the threads of the client and fail the
+	 * pending calls
+	 */
+	private void disconnect() {
+		connected = false;
+		try {
+			socket.close();
+		} catch(IOException ignored) {}
+		responding.interrupt();
+		writing.interrupt();
+		streaming.interrupt();
+		var closed = new IOException("Connection closed");
+		pending.values().forEach(future -> future.completeExceptionally(closed));
+	}
+
+	/**
+	 * Return if the connection to the server is still open, it is closed when
+	 * the server closes it or stays silent for the idle timeout
+	 *
+	 * @return if the connection is open
+	 * @see #setIdleTimeout(int)
+	 */
+	public boolean isConnected() {
+		return connected;
+	}
+
+	/**
+	 * Set the time without any message from the server after which the
+	 * connection is closed
+	 *
+	 * @param millis the time in milliseconds
+	 * @throws IOException if the connection is already closed
+	 */
+	public void setIdleTimeout(int millis) throws IOException {
+		if(millis <= 0)
+			throw new IllegalArgumentException("millis must be positive");
+		socket.setSoTimeout(millis);
+	}
+
 	private void respond() {
 		while(!Thread.interrupted()) {
-			while(!requests.isEmpty()) {
-				try {
-					handleRequest(requests.poll());
-				} catch(IOException ignored) {}
-			}
-			Thread.onSpinWait();
+			try {
+				handleRequest(requests.take());
+			} catch(InterruptedException e) {
+				return;
+			} catch(IOException ignored) {}
 		}
 	}
 
 	private void handleRequest(Request request) throws IOException {
-		CompletableFuture<Response> completable = handlers.getOrDefault(
-				request.getType(),
-				Handler.empty()
-		).handle(request);
+		CompletableFuture<Response> completable = handlers.dispatch(request);
 
 		completable.thenAcceptAsync(response -> {
+			if(response == null) return;
 			try {
-				send(response);
+				send(Codec.encode(response, request.getId()));
 			} catch(IOException ignored) {}
-		});
+		}, executor);
 	}
 
 	/**
-	 * Try to get a response from the server of the given type, if there is no
+	 * Try to get a response pushed by the server of the given type, if there is no
 	 * response of the given type, then return null
 	 *
 	 * @param type the type of the response
@@ -149,7 +562,7 @@ public final class Client extends Model {
 	}
 
 	/**
-	 * Wait for a response from the server of the given type and return it
+	 * Wait for a response pushed by the server of the given type and return it
 	 * when it is received or null if the timeout is reached before or if
 	 * the thread is interrupted
 	 *
@@ -160,19 +573,11 @@ public final class Client extends Model {
 	 */
 	public Response receive(Type type, long timeout)
 	throws InterruptedException {
-		long end = System.currentTimeMillis() + timeout;
-		while(!Thread.interrupted() &&
-				System.currentTimeMillis() < end) {
-			Response response = tryReceive(type);
-			if(response != null) return response;
-			Thread.onSpinWait();
-		}
-		if(Thread.interrupted()) throw new InterruptedException();
-		return null;
+		return responses.get(type).poll(timeout, TimeUnit.MILLISECONDS);
 	}
 
 	/**
-	 * Wait at most 1 second for a response from the server of the given type
+	 * Wait at most 1 second for a response pushed by the server of the given type
 	 * and return it when it is received or null if the timeout is reached before
 	 * or if the thread is interrupted
 	 *
@@ -184,6 +589,47 @@ public final class Client extends Model {
 		return receive(type, 1000);
 	}
 
+	/**
+	 * Get the counters of the requests of the server waiting to be handled
+	 *
+	 * @return the counters
+	 */
+	public QueueStats getInboundStats() {
+		return requests.getStats();
+	}
+
+	/**
+	 * Get the counters of the frames waiting to be written
+	 *
+	 * @return the counters
+	 */
+	public QueueStats getOutboundStats() {
+		return outbound.getStats();
+	}
+
+	/**
+	 * Get the counters of the pushed responses of a type not yet received
+	 *
+	 * @param type the type of the responses
+	 * @return the counters
+	 */
+	public QueueStats getResponseStats(Type type) {
+		return responses.get(type).getStats();
+	}
+
+	/**
+	 * Get the session id given by the server
+	 *
+	 * @return the session id, or -1 if it is not received yet
+	 */
+	public long getSession() {
+		return session;
+	}
+
+	void setSession(long session) {
+		this.session = session;
+	}
+
 	/**
 	 * Get the server's address
 	 *
@@ -0,0 +1,478 @@
+package project.models.game.network;
+
+import project.models.game.PlayerModel;
+import project.models.game.words.Word;
+import project.models.menu.MenuModel;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the messages exchanged between the server and the clients into
+ * binary frames. A frame is the length of the payload as a varint followed by
+ * the payload: a tag byte, the ordinal of the {@link Type} with the high bit
+ * set for a response, the id of the request or the correlation of the
+ * response, then the fields of the message. The integers are
+ * zigzag varints and the strings are UTF-8 bytes prefixed by their length.
+ */
+final class Codec {
+	/**
+	 * The maximum size of the length prefix of a frame
+	 */
+	static final int MAX_HEADER = 5;
+	/**
+	 * The maximum size of the payload of a frame
+	 */
+	static final int MAX_PAYLOAD = 1 << 20;
+	private static final int RESPONSE = 0x80;
+	private static final Type[] TYPES = Type.values();
+	private static final MenuModel.GameMode[] GAME_MODES =
+			MenuModel.GameMode.values();
+	private static final byte NORMAL = 0, BONUS = 1, MALUS = 2;
+	private static final byte NO_PLAYER = 0, WITHOUT_LIVES = 1, WITH_LIVES = 2;
+
+	private Codec() {}
+
+	/**
+	 * Encode a message into a frame. The frame is a buffer of the
+	 * {@link BufferPool}, it should be released once written.
+	 *
+	 * @param message the message, a request or a response
+	 * @return the frame, ready to be written
+	 * @throws IOException if the message cannot be encoded
+	 */
+	static ByteBuffer encode(Object message) throws IOException {
+		return encode(message, 0);
+	}
+
+	/**
+	 * Encode a response to a request into a frame. The frame is a buffer of
+	 * the {@link BufferPool}, it should be released once written.
+	 *
+	 * @param response    the response
+	 * @param correlation the id of the request, 0 for a pushed response
+	 * @return the frame, ready to be written
+	 * @throws IOException if the response cannot be encoded
+	 */
+	static ByteBuffer encode(Response response, int correlation)
+	throws IOException {
+		return encode((Object) response, correlation);
+	}
+
+	/**
+	 * Encode a message into a frame shared by several connections. The frame
+	 * is a read-only copy of exactly its bytes, the pooled buffer is released
+	 * at once and the frame is never given back to the pool.
+	 *
+	 * @param message the message, a request or a response
+	 * @return the frame, to be duplicated for every connection
+	 * @throws IOException if the message cannot be encoded
+	 */
+	static ByteBuffer encodeShared(Object message) throws IOException {
+		ByteBuffer pooled = encode(message, 0);
+		ByteBuffer frame = ByteBuffer.allocate(pooled.remaining());
+		frame.put(pooled).flip();
+		BufferPool.release(pooled);
+		return frame.asReadOnlyBuffer();
+	}
+
+	private static ByteBuffer encode(Object message, int correlation)
+	throws IOException {
+		int capacity = BufferPool.SIZE;
+		while(true) {
+			ByteBuffer buffer = BufferPool.acquire(capacity);
+			try {
+				buffer.position(MAX_HEADER);
+				if(message instanceof Request request) writeRequest(buffer, request);
+				else if(message instanceof Response response)
+					writeResponse(buffer, response, correlation);
+				else throw new IOException("Cannot encode " + message);
+				int length = buffer.position() - MAX_HEADER;
+				if(length > MAX_PAYLOAD)
+					throw new IOException("Message too large: " + length);
+				int start = MAX_HEADER - varintSize(length);
+				for(int i = start, v = length; i < MAX_HEADER; i++, v >>>= 7)
+					buffer.put(i, (byte) (i + 1 < MAX_HEADER ? v & 0x7F | 0x80 : v));
+				return buffer.flip().position(start);
+			} catch(BufferOverflowException e) {
+				BufferPool.release(buffer);
+				if(capacity > MAX_PAYLOAD)
+					throw new IOException("Message too large");
+				capacity *= 2;
+			} catch(IOException | RuntimeException e) {
+				BufferPool.release(buffer);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Read the length of the frame at the position of the buffer, without
+	 * moving it
+	 *
+	 * @param buffer the buffer, in read mode
+	 * @return the length of the payload, or -1 if the prefix is incomplete
+	 * @throws IOException if the length is invalid
+	 */
+	static int peekLength(ByteBuffer buffer) throws IOException {
+		int length = 0;
+		for(int i = 0; i < MAX_HEADER; i++) {
+			if(buffer.position() + i >= buffer.limit()) return -1;
+			byte b = buffer.get(buffer.position() + i);
+			length |= (b & 0x7F) << 7 * i;
+			if(b >= 0) return checkLength(length);
+		}
+		throw new IOException("Malformed frame length");
+	}
+
+	/**
+	 * Read the length of the next frame of a stream
+	 *
+	 * @param input the stream
+	 * @return the length of the payload
+	 * @throws IOException if the stream is closed or the length is invalid
+	 */
+	static int readLength(DataInput input) throws IOException {
+		int length = 0;
+		for(int i = 0; i < MAX_HEADER; i++) {
+			byte b = input.readByte();
+			length |= (b & 0x7F) << 7 * i;
+			if(b >= 0) return checkLength(length);
+		}
+		throw new IOException("Malformed frame length");
+	}
+
+	private static int checkLength(int length) throws IOException {
+		if(length < 0 || length > MAX_PAYLOAD)
+			throw new IOException("Invalid frame length: " + length);
+		return length;
+	}
+
+	/**
+	 * Get the size of the length prefix of a frame
+	 *
+	 * @param length the length of the payload
+	 * @return the size of the prefix
+	 */
+	static int varintSize(int length) {
+		int size = 1;
+		while((length >>>= 7) != 0) size++;
+		return size;
+	}
+
+	/**
+	 * Get the type of the message of an encoded frame, without moving it
+	 *
+	 * @param frame the frame, with its length prefix
+	 * @return the type of the message
+	 */
+	static Type peekType(ByteBuffer frame) {
+		int position = frame.position();
+		while(frame.get(position) < 0) position++;
+		return TYPES[frame.get(position + 1) & ~RESPONSE];
+	}
+
+	/**
+	 * Decode the payload of a frame
+	 *
+	 * @param payload the payload, without the length prefix
+	 * @return the message
+	 * @throws IOException if the payload is not a valid message
+	 */
+	static Object decode(ByteBuffer payload) throws IOException {
+		try {
+			int tag = payload.get() & 0xFF;
+			int ordinal = tag & ~RESPONSE;
+			if(ordinal >= TYPES.length)
+				throw new IOException("Unknown type: " + ordinal);
+			Object message = (tag & RESPONSE) != 0
+					? readResponse(payload, TYPES[ordinal])
+					: readRequest(payload, TYPES[ordinal]);
+			if(payload.hasRemaining())
+				throw new IOException("Trailing bytes after " + TYPES[ordinal]);
+			return message;
+		} catch(BufferUnderflowException | IllegalArgumentException e) {
+			throw new IOException("Malformed message", e);
+		}
+	}
+
+	private static void writeRequest(ByteBuffer buffer, Request request) {
+		buffer.put((byte) request.getType().ordinal());
+		putVarint(buffer, request.getId());
+		if(request instanceof Request.WordRequest word)
+			writeWord(buffer, word.getWord());
+		else if(request instanceof Request.SessionRequest session)
+			putLong(buffer, session.getSession());
+		else if(request instanceof Request.HelloRequest hello)
+			putInt(buffer, hello.getVersion());
+		else if(request instanceof Request.PlayerStateRequest state)
+			writePlayer(buffer, state.getPlayer());
+		else if(request instanceof Request.PlayerDeltaRequest delta)
+			writeDelta(buffer, delta.getDelta());
+		else if(request instanceof Request.HeartbeatRequest heartbeat)
+			putLong(buffer, heartbeat.getTime());
+		else if(request instanceof Request.LobbyRequest lobby) {
+			putLong(buffer, lobby.getVersion());
+			writePlayers(buffer, lobby.getPlayers());
+		}
+	}
+
+	private static Request readRequest(ByteBuffer buffer, Type type)
+	throws IOException {
+		int id = getVarint(buffer);
+		Request request = switch(type) {
+			case Word -> Request.word(readWord(buffer));
+			case PlayersList -> Request.playersList();
+			case PlayerModel -> Request.playerModel();
+			case Configuration -> Request.configuration();
+			case GameStart -> Request.gameStart();
+			case Eliminated -> Request.eliminated();
+			case MatchOver -> Request.matchOver();
+			case Session -> Request.session(getLong(buffer));
+			case Hello -> Request.hello(getInt(buffer));
+			case PlayerState -> Request.playerState(readPlayer(buffer));
+			case PlayerDelta -> Request.playerDelta(readDelta(buffer));
+			case Subscribe -> Request.subscribe();
+			case Lobby -> Request.lobby(getLong(buffer), readPlayers(buffer));
+			case Ping -> Request.ping(getLong(buffer));
+			case Pong -> Request.pong(getLong(buffer));
+			case Error -> throw new IOException("Unknown request: " + type);
+		};
+		request.setId(id);
+		return request;
+	}
+
+	private static void writeResponse(
+			ByteBuffer buffer,
+			Response response,
+			int correlation
+	) throws IOException {
+		buffer.put((byte) (response.getType().ordinal() | RESPONSE));
+		putVarint(buffer, correlation);
+		if(response instanceof Response.WordResponse word)
+			writeWord(buffer, word.getWord());
+		else if(response instanceof Response.PlayersListResponse list)
+			writePlayers(buffer, list.getPlayers());
+		else if(response instanceof Response.PlayerModelResponse player)
+			writePlayer(buffer, player.getPlayer());
+		else if(response instanceof Response.ConfigurationResponse config)
+			writeConfiguration(buffer, config.getConfiguration());
+		else if(response instanceof Response.ErrorResponse error)
+			putString(buffer, error.getMessage());
+		else throw new IOException("Cannot encode " + response.getType());
+	}
+
+	private static Response readResponse(ByteBuffer buffer, Type type)
+	throws IOException {
+		int correlation = getVarint(buffer);
+		Response response = switch(type) {
+			case Word -> Response.word(readWord(buffer));
+			case PlayersList -> Response.playersList(readPlayers(buffer));
+			case PlayerModel -> Response.playerModel(readPlayer(buffer));
+			case Configuration -> Response.configuration(readConfiguration(buffer));
+			case Error -> Response.error(getString(buffer));
+			default -> throw new IOException("Unknown response: " + type);
+		};
+		response.setCorrelation(correlation);
+		return response;
+	}
+
+	private static void writePlayers(ByteBuffer buffer, List<PlayerModel> players) {
+		putVarint(buffer, players.size());
+		for(PlayerModel player: players)
+			writePlayer(buffer, player);
+	}
+
+	private static List<PlayerModel> readPlayers(ByteBuffer buffer)
+	throws IOException {
+		int size = getVarint(buffer);
+		if(size > buffer.remaining())
+			throw new IOException("Invalid players count: " + size);
+		var players = new ArrayList<PlayerModel>(size);
+		for(int i = 0; i < size; i++)
+			players.add(readPlayer(buffer));
+		return List.copyOf(players);
+	}
+
+	private static void writeWord(ByteBuffer buffer, Word word) {
+		buffer.put(word.isBonus() ? BONUS : word.isMalus() ? MALUS : NORMAL);
+		putString(buffer, word.content());
+	}
+
+	private static Word readWord(ByteBuffer buffer) throws IOException {
+		byte kind = buffer.get();
+		String content = getString(buffer);
+		return switch(kind) {
+			case NORMAL -> Word.normal(content);
+			case BONUS -> Word.bonus(content);
+			case MALUS -> Word.malus(content);
+			default -> throw new IOException("Unknown word kind: " + kind);
+		};
+	}
+
+	private static void writePlayer(ByteBuffer buffer, PlayerModel player) {
+		if(player == null) {
+			buffer.put(NO_PLAYER);
+			return;
+		}
+		buffer.put(player.hasLives() ? WITH_LIVES : WITHOUT_LIVES);
+		putString(buffer, player.getName());
+		putInt(buffer, player.getScore());
+		putInt(buffer, player.getNbCorrectWords());
+		if(player.hasLives()) putInt(buffer, player.getLives());
+	}
+
+	private static PlayerModel readPlayer(ByteBuffer buffer) throws IOException {
+		byte kind = buffer.get();
+		if(kind == NO_PLAYER) return null;
+		if(kind != WITH_LIVES && kind != WITHOUT_LIVES)
+			throw new IOException("Unknown player kind: " + kind);
+		String name = getString(buffer);
+		int score = getInt(buffer);
+		int nbCorrectWords = getInt(buffer);
+		if(kind == WITHOUT_LIVES)
+			return PlayerModel.restore(name, score, nbCorrectWords);
+		return PlayerModel.restore(name, getInt(buffer), score, nbCorrectWords);
+	}
+
+	private static void writeConfiguration(ByteBuffer buffer, MenuModel config) {
+		buffer.put((byte) config.getGameMode().ordinal());
+		putString(buffer, config.getHost());
+		putString(buffer, config.getPort());
+		putInt(buffer, config.getPlayersNumber());
+		putInt(buffer, config.getLives());
+		putInt(buffer, config.getNbWord());
+		putString(buffer, config.getPlayerName());
+	}
+
+	private static MenuModel readConfiguration(ByteBuffer buffer)
+	throws IOException {
+		int mode = buffer.get();
+		if(mode < 0 || mode >= GAME_MODES.length)
+			throw new IOException("Unknown game mode: " + mode);
+		return new MenuModel(
+				GAME_MODES[mode],
+				getString(buffer),
+				getString(buffer),
+				getInt(buffer),
+				getInt(buffer),
+				getInt(buffer),
+				getString(buffer)
+		);
+	}
+
+	/**
+	 * Write the session, the mask and only the fields present in the mask
+	 */
+	private static void writeDelta(ByteBuffer buffer, PlayerDelta delta) {
+		putLong(buffer, delta.session());
+		putVarint(buffer, delta.mask());
+		if(delta.has(PlayerDelta.SCORE)) putInt(buffer, delta.score());
+		if(delta.has(PlayerDelta.LIVES)) putInt(buffer, delta.lives());
+		if(delta.has(PlayerDelta.CORRECT_WORDS))
+			putInt(buffer, delta.nbCorrectWords());
+		if(delta.has(PlayerDelta.LEVEL)) putInt(buffer, delta.level());
+	}
+
+	private static PlayerDelta readDelta(ByteBuffer buffer) throws IOException {
+		long session = getLong(buffer);
+		int mask = getVarint(buffer);
+		if((mask & ~0xF) != 0)
+			throw new IOException("Invalid delta mask: " + mask);
+		int score = (mask & PlayerDelta.SCORE) != 0 ? getInt(buffer) : 0;
+		int lives = (mask & PlayerDelta.LIVES) != 0 ? getInt(buffer) : 0;
+		int words = (mask & PlayerDelta.CORRECT_WORDS) != 0 ? getInt(buffer) : 0;
+		int level = (mask & PlayerDelta.LEVEL) != 0 ? getInt(buffer) : 0;
+		return new PlayerDelta(session, mask, score, lives, words, level);
+	}
+
+	private static void putVarint(ByteBuffer buffer, int value) {
+		while((value & ~0x7F) != 0) {
+			buffer.put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	private static int getVarint(ByteBuffer buffer) throws IOException {
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0) return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	private static void putLong(ByteBuffer buffer, long value) {
+		value = value << 1 ^ value >> 63;
+		while((value & ~0x7FL) != 0) {
+			buffer.put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	private static long getLong(ByteBuffer buffer) throws IOException {
+		long value = 0;
+		for(int shift = 0; shift < 70; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if(b >= 0) return value >>> 1 ^ -(value & 1);
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	private static void putInt(ByteBuffer buffer, int value) {
+		putVarint(buffer, value << 1 ^ value >> 31);
+	}
+
+	private static int getInt(ByteBuffer buffer) throws IOException {
+		int value = getVarint(buffer);
+		return value >>> 1 ^ -(value & 1);
+	}
+
+	private static void putString(ByteBuffer buffer, String s) {
+		int length = s.length();
+		int i = 0;
+		while(i < length && s.charAt(i) < 0x80) i++;
+		if(i < length) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			putVarint(buffer, bytes.length);
+			buffer.put(bytes);
+			return;
+		}
+		// ASCII, one byte per character
+		putVarint(buffer, length);
+		if(buffer.remaining() < length) throw new BufferOverflowException();
+		for(i = 0; i < length; i++)
+			buffer.put((byte) s.charAt(i));
+	}
+
+	private static String getString(ByteBuffer buffer) throws IOException {
+		int length = getVarint(buffer);
+		if(length < 0 || length > buffer.remaining())
+			throw new IOException("Invalid string length: " + length);
+		String s;
+		if(buffer.hasArray())
+			s = new String(
+					buffer.array(),
+					buffer.arrayOffset() + buffer.position(),
+					length,
+					StandardCharsets.UTF_8
+			);
+		else {
+			byte[] bytes = new byte[length];
+			buffer.get(buffer.position(), bytes);
+			s = new String(bytes, StandardCharsets.UTF_8);
+		}
+		buffer.position(buffer.position() + length);
+		return s;
+	}
+}
@@ -0,0 +1,73 @@
+package project.models.game.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The handlers of a server or a client, indexed by the type ordinal. The
+ * interceptors are chained around every handler when they change, so a
+ * dispatch is an array read followed by the calls of the chain.
+ */
+final class Dispatcher {
+	private static final Type[] TYPES = Type.values();
+	private final Handler[] handlers = new Handler[TYPES.length];
+	/**
+	 * The interceptors, the first one runs first
+	 */
+	private final List<Interceptor> interceptors = new ArrayList<>();
+	/**
+	 * The handlers with the interceptors around them, replaced as a whole
+	 */
+	private volatile Handler[] chains;
+
+	Dispatcher() {
+		Arrays.fill(handlers, Handler.EMPTY);
+		chain();
+	}
+
+	/**
+	 * Set the handler of a type
+	 *
+	 * @param type    the type of the requests
+	 * @param handler the handler
+	 */
+	synchronized void register(Type type, Handler handler) {
+		handlers[type.ordinal()] = handler;
+		chain();
+	}
+
+	/**
+	 * Add an interceptor around every handler, after the ones already added
+	 *
+	 * @param interceptor the interceptor
+	 */
+	synchronized void intercept(Interceptor interceptor) {
+		interceptors.add(interceptor);
+		chain();
+	}
+
+	private void chain() {
+		var chains = new Handler[TYPES.length];
+		for(int i = 0; i < chains.length; i++) {
+			Handler chain = handlers[i];
+			for(int j = interceptors.size() - 1; j >= 0; j--)
+				chain = interceptors.get(j).before(chain);
+			chains[i] = chain;
+		}
+		this.chains = chains;
+	}
+
+	/**
+	 * Handle a request with the handler of its type
+	 *
+	 * @param request the request
+	 * @return A completable future of the response
+	 * @throws IllegalArgumentException if the request is not handled
+	 */
+	CompletableFuture<Response> dispatch(Request request)
+	throws IllegalArgumentException {
+		return chains[request.getType().ordinal()].handle(request);
+	}
+}
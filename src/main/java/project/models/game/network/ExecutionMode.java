@@ -0,0 +1,79 @@
+package project.models.game.network;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * The threads on which the server, the client and the handlers run
+ */
+public enum ExecutionMode {
+	/**
+	 * Platform threads
+	 */
+	Platform,
+	/**
+	 * Virtual threads, the handler executors then keep a virtual thread per
+	 * worker. Requires a runtime with virtual threads, see
+	 * {@link #isSupported()}.
+	 */
+	Virtual;
+
+	/**
+	 * Thread.ofVirtual, looked up at runtime so the game still runs on older
+	 * runtimes, null if the runtime has no virtual threads
+	 */
+	private static final Method ofVirtual;
+	private static final Method name;
+	private static final Method unstarted;
+
+	static {
+		Method of = null, n = null, u = null;
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			of = Thread.class.getMethod("ofVirtual");
+			n = builder.getMethod("name", String.class);
+			u = builder.getMethod("unstarted", Runnable.class);
+			// fails if virtual threads are a disabled preview feature
+			u.invoke(of.invoke(null), (Runnable) () -> {});
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			of = null;
+		}
+		ofVirtual = of;
+		name = n;
+		unstarted = u;
+	}
+
+	/**
+	 * Whether the runtime can run this mode
+	 *
+	 * @return true if the mode can be used
+	 */
+	public boolean isSupported() {
+		return this == Platform || ofVirtual != null;
+	}
+
+	/**
+	 * Create a new unstarted thread
+	 *
+	 * @param task the task of the thread
+	 * @param name the name of the thread
+	 * @return the thread
+	 * @throws UnsupportedOperationException if the mode is not supported
+	 */
+	public Thread newThread(Runnable task, String name) {
+		if(this == Platform) return new Thread(task, name);
+		checkSupported();
+		try {
+			Object builder = ExecutionMode.name.invoke(ofVirtual.invoke(null), name);
+			return (Thread) unstarted.invoke(builder, task);
+		} catch(IllegalAccessException | InvocationTargetException e) {
+			throw new UnsupportedOperationException(e);
+		}
+	}
+
+	private void checkSupported() {
+		if(!isSupported())
+			throw new UnsupportedOperationException(
+					this + " threads are not supported by this runtime");
+	}
+}
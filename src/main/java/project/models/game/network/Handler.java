@@ -3,11 +3,8 @@ package project.models.game.network;
 import javafx.application.Platform;
 import project.controllers.GameController;
 import project.controllers.MenuController;
-import project.controllers.NetworkController;
-import project.models.game.PlayerModel;
 import project.models.menu.MenuModel;
 
-import java.io.IOException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -16,6 +13,19 @@ import java.util.concurrent.CompletableFuture;
  */
 @FunctionalInterface
 public interface Handler {
+	/**
+	 * The handler of the requests without handler, it always returns a null
+	 * response. Each call gets its own copy of a completed future, so a
+	 * caller completing or obtruding it cannot change the others.
+	 */
+	Handler EMPTY = new Handler() {
+		private final CompletableFuture<Response> none =
+				CompletableFuture.completedFuture(null);
+
+		@Override public CompletableFuture<Response> handle(Request request) {
+			return none.copy();
+		}
+	};
 
 	/**
 	 * The empty handler always returns null
@@ -23,40 +33,76 @@ public interface Handler {
 	 * @return null
 	 */
 	static Handler empty() {
-		return request -> CompletableFuture.completedFuture(null);
+		return EMPTY;
 	}
 
 	/**
 	 * Handle the players list request from a client and
-	 * return the list of connected players
+	 * return the list of connected players, from the state they pushed.
+	 * The list is cached by the server and built once for a burst of requests.
 	 *
 	 * @param server the server
 	 * @return A handler to handle the players list request
 	 */
 	static Handler playersListRequest(Server server) {
-		return new Handler() {
-			private Response cached = null;
-
-			private synchronized void updateCachedPlayersListResponse() {
-				server.sendAll(Request.playerModel());
-				var players = server.receiveAll(Type.PlayerModel)
-									.map(r -> ((Response.PlayerModelResponse) r).getPlayer())
-									.toList();
-				cached = Response.playersList(players);
-			}
+		return request -> {
+			if(request.getType() != Type.PlayersList)
+				throw new IllegalArgumentException(
+						"Request must be of type PlayersList");
+			return server.getPlayersListResponse();
+		};
+	}
 
-			@Override
-			public CompletableFuture<Response> handle(Request request) {
-				return CompletableFuture.supplyAsync(() -> {
-					if(request.getType() != Type.PlayersList)
-						throw new IllegalArgumentException(
-								"Request must be of type PlayersList");
-					long current = System.currentTimeMillis() - 100;
-					if(cached == null || cached.getCreated() < current)
-						updateCachedPlayersListResponse();
-					return cached;
-				});
-			}
+	/**
+	 * Handle the player state pushed by a client and keep it in the players
+	 * table of the server
+	 *
+	 * @param server the server
+	 * @return A handler to handle the player state request
+	 */
+	static Handler playerStateRequest(Server server) {
+		return request -> {
+			if(request instanceof Request.PlayerStateRequest req)
+				server.updatePlayer(req.getOrigin(), req.getPlayer());
+			else
+				throw new IllegalArgumentException(
+						"Request must be of type PlayerState");
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the player delta streamed by a client, apply it to the players
+	 * table of the server and forward it to the other clients
+	 *
+	 * @param server the server
+	 * @return A handler to handle the player delta request
+	 */
+	static Handler playerDeltaRequest(Server server) {
+		return request -> {
+			if(request instanceof Request.PlayerDeltaRequest req)
+				server.applyDelta(req.getOrigin(), req.getDelta());
+			else
+				throw new IllegalArgumentException(
+						"Request must be of type PlayerDelta");
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the subscribe request from a client, the server then pushes the
+	 * lobby to the client whenever it changes
+	 *
+	 * @param server the server
+	 * @return A handler to handle the subscribe request
+	 */
+	static Handler subscribeRequest(Server server) {
+		return request -> {
+			if(request.getType() != Type.Subscribe)
+				throw new IllegalArgumentException(
+						"Request must be of type Subscribe");
+			server.subscribe(request.getOrigin());
+			return CompletableFuture.completedFuture(null);
 		};
 	}
 
@@ -79,51 +125,6 @@ public interface Handler {
 		};
 	}
 
-	/**
-	 * Handle the player model request from a client and return the player
-	 *
-	 * @return A handler to handle the player model request
-	 */
-	static Handler playerModelRequest() {
-		return new Handler() {
-			private Response computePlayerModel() {
-				try {
-					var optionalConfig = NetworkController.getInstance()
-																  .getModel()
-																  .getConfiguration();
-					if(optionalConfig.isPresent()) {
-						String name = MenuController.getInstance()
-													.getModel()
-													.getPlayerName();
-						return Response.playerModel(
-								PlayerModel.withLivesAndLevel(
-										name,
-										optionalConfig.get().getLives()
-								)
-						);
-					}
-				} catch(IOException | InterruptedException ignored) {}
-				return null;
-			}
-
-			@Override public CompletableFuture<Response> handle(Request request)
-			throws IllegalArgumentException {
-				if(request.getType() != Type.PlayerModel)
-					throw new IllegalArgumentException(
-							"Request must be of type PlayerModel");
-				if(GameController.getInstance().isRunning())
-					return CompletableFuture.completedFuture(
-							Response.playerModel(
-									GameController.getInstance()
-												  .getPlayer()
-												  .clone()
-							)
-					);
-				return CompletableFuture.supplyAsync(this::computePlayerModel);
-			}
-		};
-	}
-
 	/**
 	 * Handle the configuration request from a client and return the configuration
 	 *
@@ -175,7 +176,15 @@ public interface Handler {
 			if(!GameController.getInstance().isRunning()) {
 				Platform.runLater(() -> {
 					try {
-						MenuController.getInstance().startGame();
+						// a failure is still reported on the JavaFX thread
+						MenuController.getInstance()
+									  .startGame()
+									  .exceptionally(e -> {
+										  Platform.runLater(() -> {
+											  throw new RuntimeException(e.getCause());
+										  });
+										  return null;
+									  });
 					} catch(Exception e) {
 						throw new RuntimeException(e);
 					}
@@ -185,6 +194,92 @@ public interface Handler {
 		};
 	}
 
+	/**
+	 * Handle the eliminated request from a client and remove its player from
+	 * the players still alive in the match
+	 *
+	 * @param server the server
+	 * @return A handler to handle the eliminated request
+	 */
+	static Handler eliminatedRequest(Server server) {
+		return request -> {
+			if(request.getType() != Type.Eliminated)
+				throw new IllegalArgumentException(
+						"Request must be of type Eliminated");
+			server.eliminate(request.getOrigin());
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the match over request from the server and end the game
+	 *
+	 * @return A handler to handle the match over request
+	 */
+	static Handler matchOverRequest() {
+		return request -> {
+			if(request.getType() != Type.MatchOver)
+				throw new IllegalArgumentException(
+						"Request must be of type MatchOver");
+			Platform.runLater(() -> GameController.getInstance().matchOver());
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the session request from the server and keep the session id
+	 * of the client
+	 *
+	 * @param client the client
+	 * @return A handler to handle the session request
+	 */
+	static Handler sessionRequest(Client client) {
+		return request -> {
+			if(request instanceof Request.SessionRequest req)
+				client.setSession(req.getSession());
+			else
+				throw new IllegalArgumentException(
+						"Request must be of type Session");
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the player delta forwarded by the server and merge it into the
+	 * room of the client
+	 *
+	 * @param client the client
+	 * @return A handler to handle the player delta request
+	 */
+	static Handler playerDeltaRequest(Client client) {
+		return request -> {
+			if(request instanceof Request.PlayerDeltaRequest req)
+				client.updateRoom(req.getDelta());
+			else
+				throw new IllegalArgumentException(
+						"Request must be of type PlayerDelta");
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
+	/**
+	 * Handle the lobby pushed by the server and keep it if it is newer than
+	 * the lobby of the client
+	 *
+	 * @param client the client
+	 * @return A handler to handle the lobby request
+	 */
+	static Handler lobbyRequest(Client client) {
+		return request -> {
+			if(request instanceof Request.LobbyRequest req)
+				client.updateLobby(req.getVersion(), req.getPlayers());
+			else
+				throw new IllegalArgumentException(
+						"Request must be of type Lobby");
+			return CompletableFuture.completedFuture(null);
+		};
+	}
+
 	/**
 	 * Compute a response from a request, if the request is not handled
 	 * by this handler, an IllegalArgumentException is thrown
@@ -0,0 +1,163 @@
+package project.models.game.network;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named executor with a fixed number of threads and a bounded queue, on
+ * which a class of handlers runs. The handlers never run on the common pool,
+ * so a handler waiting for the network cannot starve the other users of the
+ * common pool, nor the handlers of another class.
+ */
+public final class HandlerExecutor implements Executor {
+	/**
+	 * The time an idle thread is kept
+	 */
+	private static final long KEEP_ALIVE = 30;
+
+	/**
+	 * What the executor does with a task when its queue is full
+	 */
+	public enum Policy {
+		/**
+		 * Run the task on the thread which submits it, which slows it down
+		 */
+		CallerRuns(new ThreadPoolExecutor.CallerRunsPolicy()),
+		/**
+		 * Drop the oldest queued task, only for tasks nobody waits on as the
+		 * future of a dropped stage never completes
+		 */
+		DiscardOldest(new ThreadPoolExecutor.DiscardOldestPolicy()),
+		/**
+		 * Throw a RejectedExecutionException to the thread which submits it
+		 */
+		Abort(new ThreadPoolExecutor.AbortPolicy());
+
+		private final RejectedExecutionHandler handler;
+
+		Policy(RejectedExecutionHandler handler) {
+			this.handler = handler;
+		}
+	}
+
+	private final String name;
+	private final ThreadPoolExecutor pool;
+	private final AtomicLong rejected = new AtomicLong();
+	private volatile Policy policy;
+
+	/**
+	 * @param name     the name of the executor and the prefix of its threads
+	 * @param mode     the threads of the executor
+	 * @param threads  the maximum number of threads
+	 * @param capacity the maximum number of queued tasks
+	 * @param policy   what to do with a task when the queue is full
+	 */
+	HandlerExecutor(
+			String name,
+			ExecutionMode mode,
+			int threads,
+			int capacity,
+			Policy policy
+	) {
+		this.name = name;
+		this.policy = policy;
+		var count = new AtomicInteger();
+		this.pool = new ThreadPoolExecutor(
+				threads,
+				threads,
+				KEEP_ALIVE,
+				TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(capacity),
+				task -> {
+					var thread = mode.newThread(
+							task,
+							name + " " + count.incrementAndGet()
+					);
+					thread.setDaemon(true);
+					return thread;
+				},
+				this::saturated
+		);
+		this.pool.allowCoreThreadTimeOut(true);
+	}
+
+	private void saturated(Runnable task, ThreadPoolExecutor pool) {
+		rejected.incrementAndGet();
+		policy.handler.rejectedExecution(task, pool);
+	}
+
+	@Override public void execute(Runnable task) {
+		pool.execute(task);
+	}
+
+	/**
+	 * Stop the threads once the queued tasks are done, the tasks submitted
+	 * afterwards are dropped
+	 */
+	void shutdown() {
+		policy = Policy.DiscardOldest;
+		pool.shutdown();
+	}
+
+	/**
+	 * Get the name of the executor
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Set what the executor does with a task when its queue is full
+	 *
+	 * @param policy the policy
+	 */
+	public void setPolicy(Policy policy) {
+		this.policy = policy;
+	}
+
+	/**
+	 * Get the counters of the executor, an estimate as they change while
+	 * they are read
+	 *
+	 * @return the counters
+	 */
+	public Stats getStats() {
+		return new Stats(
+				name,
+				pool.getPoolSize(),
+				pool.getActiveCount(),
+				pool.getQueue().size(),
+				pool.getQueue().size() + pool.getQueue().remainingCapacity(),
+				pool.getCompletedTaskCount(),
+				rejected.get()
+		);
+	}
+
+	/**
+	 * The counters of a handler executor
+	 *
+	 * @param name      the name of the executor
+	 * @param threads   the number of threads
+	 * @param active    the number of threads running a task
+	 * @param queued    the number of tasks waiting for a thread
+	 * @param capacity  the maximum number of waiting tasks
+	 * @param completed the number of tasks done
+	 * @param rejected  the number of tasks which found the queue full
+	 */
+	public record Stats(
+			String name,
+			int threads,
+			int active,
+			int queued,
+			int capacity,
+			long completed,
+			long rejected
+	) {}
+}
@@ -0,0 +1,100 @@
+package project.models.game.network;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * An interceptor runs around the handler of a request, to measure, check or
+ * drop it. The interceptors are chained once when the handlers are
+ * registered, so a request only goes through calls.
+ *
+ * @see Dispatcher
+ */
+@FunctionalInterface
+public interface Interceptor {
+
+	/**
+	 * Drop the requests which are not valid, their response is null
+	 *
+	 * @param valid whether a request is valid
+	 * @return an interceptor checking the requests
+	 */
+	static Interceptor validating(Predicate<Request> valid) {
+		return (request, next) -> valid.test(request)
+				? next.handle(request)
+				: Handler.EMPTY.handle(request);
+	}
+
+	/**
+	 * Handle a request with the next handler of the chain, or not
+	 *
+	 * @param request the request
+	 * @param next    the rest of the chain
+	 * @return A completable future of the response
+	 * @throws IllegalArgumentException if the request is not handled
+	 */
+	CompletableFuture<Response> intercept(Request request, Handler next)
+	throws IllegalArgumentException;
+
+	/**
+	 * Chain the interceptor before a handler
+	 *
+	 * @param next the handler
+	 * @return a handler calling the interceptor
+	 */
+	default Handler before(Handler next) {
+		return request -> intercept(request, next);
+	}
+
+	/**
+	 * Count the requests of each type and the time their handlers take until
+	 * the response is ready. The counters are indexed by the type ordinal.
+	 */
+	final class Timing implements Interceptor {
+		private static final Type[] TYPES = Type.values();
+		private final AtomicLongArray counts = new AtomicLongArray(TYPES.length);
+		private final AtomicLongArray nanos = new AtomicLongArray(TYPES.length);
+
+		@Override public CompletableFuture<Response> intercept(
+				Request request,
+				Handler next
+		) throws IllegalArgumentException {
+			int i = request.getType().ordinal();
+			long start = System.nanoTime();
+			var completable = next.handle(request);
+			// most handlers answer at once, only the others need a callback
+			if(completable.isDone())
+				record(i, start);
+			else
+				completable.whenComplete((response, e) -> record(i, start));
+			return completable;
+		}
+
+		private void record(int i, long start) {
+			nanos.addAndGet(i, System.nanoTime() - start);
+			counts.incrementAndGet(i);
+		}
+
+		/**
+		 * Get the number of requests handled of a type
+		 *
+		 * @param type the type of the requests
+		 * @return the number of requests
+		 */
+		public long getCount(Type type) {
+			return counts.get(type.ordinal());
+		}
+
+		/**
+		 * Get the mean time the handler of a type takes
+		 *
+		 * @param type the type of the requests
+		 * @return the time in nanoseconds, 0 if none was handled
+		 */
+		public long getMeanTime(Type type) {
+			long count = counts.get(type.ordinal());
+			return count == 0 ? 0 : nanos.get(type.ordinal()) / count;
+		}
+	}
+}
@@ -9,7 +9,8 @@ import project.views.View;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Represents a network model for a game.
@@ -24,7 +25,20 @@ public sealed abstract class NetworkModel extends Model {
 	 * @throws IOException if an I/O error occurs
 	 */
 	public static NetworkModel host(int port) throws IOException {
-		return new HostModel(port);
+		return host(port, ExecutionMode.Platform);
+	}
+
+	/**
+	 * Create a new network model to host a game.
+	 *
+	 * @param port the port to host the game on
+	 * @param mode the threads on which the network runs
+	 * @return the network model
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static NetworkModel host(int port, ExecutionMode mode)
+	throws IOException {
+		return new HostModel(port, mode);
 	}
 
 	/**
@@ -37,7 +51,24 @@ public sealed abstract class NetworkModel extends Model {
 	 */
 	public static NetworkModel join(InetAddress address, int port)
 	throws IOException {
-		return new ClientModel(address, port);
+		return join(address, port, ExecutionMode.Platform);
+	}
+
+	/**
+	 * Create a new network model to join a game.
+	 *
+	 * @param address the address of the host
+	 * @param port    the port of the host
+	 * @param mode    the threads on which the network runs
+	 * @return the network model
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static NetworkModel join(
+			InetAddress address,
+			int port,
+			ExecutionMode mode
+	) throws IOException {
+		return new ClientModel(address, port, mode);
 	}
 
 	/**
@@ -72,12 +103,31 @@ public sealed abstract class NetworkModel extends Model {
 	 * Get the list of players connected to the same server
 	 * through this network model.
 	 *
-	 * @return the list of players
+	 * @return a future of the list of players, completed exceptionally if
+	 * an I/O error occurs or if the server does not answer in time
+	 */
+	public abstract CompletableFuture<List<PlayerModel>> getPlayersList();
+
+	/**
+	 * Ask the server to push the players connected to it whenever they
+	 * change, instead of requesting the list of players.
+	 *
+	 * @param listener called with the players, from a thread of the network
 	 * @throws IOException if an I/O error occurs
 	 */
-	public abstract Optional<List<PlayerModel>> getPlayersList()
+	public abstract void subscribe(Consumer<List<PlayerModel>> listener)
 	throws IOException;
 
+	/**
+	 * Push the state of the player to the server, which keeps the state of
+	 * every player to answer the players list requests. The changes of a
+	 * player already pushed are sent as deltas at a fixed tick.
+	 *
+	 * @param player the player
+	 * @throws IOException if an I/O error occurs
+	 */
+	public abstract void updatePlayer(PlayerModel player) throws IOException;
+
 	/**
 	 * Get the address of the server this network model is connected to.
 	 *
@@ -89,12 +139,11 @@ public sealed abstract class NetworkModel extends Model {
 	 * Get the configuration of the game of the server this network model is
 	 * connected to.
 	 *
-	 * @return the configuration of the game
-	 * @throws IOException          if an I/O error occurs
-	 * @throws InterruptedException if the thread is interrupted
+	 * @return a future of the configuration of the game, completed
+	 * exceptionally if an I/O error occurs or if the server does not answer
+	 * in time
 	 */
-	public abstract Optional<MenuModel> getConfiguration()
-	throws IOException, InterruptedException;
+	public abstract CompletableFuture<MenuModel> getConfiguration();
 
 	/**
 	 * Get the port of the server this network model is connected to.
@@ -106,15 +155,10 @@ public sealed abstract class NetworkModel extends Model {
 	/**
 	 * Get the number of players connected to the same server
 	 *
-	 * @return the number of players
+	 * @return a future of the number of players
 	 */
-	public final Optional<Integer> getNumberOfPlayers() {
-		try {
-			var players = getPlayersList();
-			if(players.isPresent())
-				return Optional.of(players.get().size());
-		} catch(IOException ignored) {}
-		return Optional.empty();
+	public final CompletableFuture<Integer> getNumberOfPlayers() {
+		return getPlayersList().thenApply(List::size);
 	}
 
 	/**
@@ -125,11 +169,20 @@ public sealed abstract class NetworkModel extends Model {
 	 */
 	public abstract void gameStarted() throws UnsupportedOperationException;
 
+	/**
+	 * Indicate to the server that the player has no lives left. The server
+	 * pushes the end of the match when less than two players are alive.
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public abstract void eliminated() throws IOException;
+
 	private static final class ClientModel extends NetworkModel implements View {
 		private final Client client;
 
-		public ClientModel(InetAddress address, int port) throws IOException {
-			this.client = new Client(address, port);
+		public ClientModel(InetAddress address, int port, ExecutionMode mode)
+		throws IOException {
+			this.client = new Client(address, port, mode);
 			this.client.start();
 			this.client.addViewer(this);
 		}
@@ -151,15 +204,20 @@ public sealed abstract class NetworkModel extends Model {
 			return response != null ? response.getWord() : null;
 		}
 
-		@Override public Optional<List<PlayerModel>> getPlayersList()
+		@Override public CompletableFuture<List<PlayerModel>> getPlayersList() {
+			return client.call(Request.playersList())
+						 .thenApply(r -> ((Response.PlayersListResponse) r)
+								 .getPlayers());
+		}
+
+		@Override public void subscribe(Consumer<List<PlayerModel>> listener)
+		throws IOException {
+			client.subscribe(listener);
+		}
+
+		@Override public void updatePlayer(PlayerModel player)
 		throws IOException {
-			client.send(Request.playersList());
-			try {
-				Response r = client.receive(Type.PlayersList);
-				if(r instanceof Response.PlayersListResponse response)
-					return Optional.of(response.getPlayers());
-			} catch(InterruptedException ignored) {}
-			return Optional.empty();
+			client.stream(player);
 		}
 
 		@Override public InetAddress getInetAddress() {
@@ -170,17 +228,22 @@ public sealed abstract class NetworkModel extends Model {
 			return client.getPort();
 		}
 
+		private long getSession() {
+			return client.getSession();
+		}
+
 		@Override public void gameStarted() {
 			throw new UnsupportedOperationException();
 		}
 
-		@Override public Optional<MenuModel> getConfiguration()
-		throws IOException, InterruptedException {
-			client.send(Request.configuration());
-			Response r = client.receive(Type.Configuration);
-			if(r instanceof Response.ConfigurationResponse response)
-				return Optional.of(response.getConfiguration());
-			return Optional.empty();
+		@Override public void eliminated() throws IOException {
+			client.send(Request.eliminated());
+		}
+
+		@Override public CompletableFuture<MenuModel> getConfiguration() {
+			return client.call(Request.configuration())
+						 .thenApply(r -> ((Response.ConfigurationResponse) r)
+								 .getConfiguration());
 		}
 
 		@Override public void update() {
@@ -192,11 +255,11 @@ public sealed abstract class NetworkModel extends Model {
 		private final Server server;
 		private final ClientModel client;
 
-		private HostModel(int port) throws IOException {
-			this.server = new Server(port);
+		private HostModel(int port, ExecutionMode mode) throws IOException {
+			this.server = new Server(port, mode);
 			this.server.start();
 
-			this.client = new ClientModel(server.getAddress(), port);
+			this.client = new ClientModel(server.getAddress(), port, mode);
 			this.client.addViewer(this);
 		}
 
@@ -218,11 +281,20 @@ public sealed abstract class NetworkModel extends Model {
 			return client.tryReceiveWord();
 		}
 
-		@Override public Optional<List<PlayerModel>> getPlayersList()
-		throws IOException {
+		@Override public CompletableFuture<List<PlayerModel>> getPlayersList() {
 			return client.getPlayersList();
 		}
 
+		@Override public void subscribe(Consumer<List<PlayerModel>> listener)
+		throws IOException {
+			client.subscribe(listener);
+		}
+
+		@Override public void updatePlayer(PlayerModel player)
+		throws IOException {
+			client.updatePlayer(player);
+		}
+
 		@Override public InetAddress getInetAddress() {
 			return client.getInetAddress();
 		}
@@ -232,14 +304,18 @@ public sealed abstract class NetworkModel extends Model {
 		}
 
 		@Override public void gameStarted() {
+			server.startMatch();
 			server.sendAll(
 					Request.gameStart(),
-					c -> c.isNotAddress(client.getInetAddress())
+					c -> c.isNotSession(client.getSession())
 			);
 		}
 
-		@Override public Optional<MenuModel> getConfiguration()
-		throws IOException, InterruptedException {
+		@Override public void eliminated() throws IOException {
+			client.eliminated();
+		}
+
+		@Override public CompletableFuture<MenuModel> getConfiguration() {
 			return client.getConfiguration();
 		}
 
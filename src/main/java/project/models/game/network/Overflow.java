@@ -0,0 +1,39 @@
+package project.models.game.network;
+
+/**
+ * What a bounded queue does with a message when it is full
+ */
+public enum Overflow {
+	/**
+	 * Drop the oldest queued message which may be dropped, a newer state
+	 * replaces it anyway. Only the whole snapshots may be dropped, a delta or
+	 * a reply to a call would be lost for good.
+	 */
+	DropOldest,
+	/**
+	 * Close the connection, its peer sends or reads too slowly
+	 */
+	Disconnect,
+	/**
+	 * Take the room of the oldest queued message which may be dropped, then
+	 * close the connection if there is none. The sender never waits, it may
+	 * be the thread of the interface or the event loop draining the queue.
+	 */
+	Evict;
+
+	/**
+	 * The overflow policy of the messages of a type
+	 *
+	 * @param type the type of the message
+	 * @return the policy
+	 */
+	public static Overflow of(Type type) {
+		return switch(type) {
+			case PlayerState, Lobby, Ping, Pong -> DropOldest;
+			case Word, PlayersList, PlayerModel, Configuration, PlayerDelta,
+					Error -> Disconnect;
+			case GameStart, Eliminated, MatchOver, Session, Hello, Subscribe ->
+					Evict;
+		};
+	}
+}
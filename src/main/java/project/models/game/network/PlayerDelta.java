@@ -0,0 +1,127 @@
+package project.models.game.network;
+
+import project.models.game.PlayerModel;
+
+/**
+ * The fields of a player which changed since the last state sent, the mask
+ * tells which fields are present
+ *
+ * @param session        the session of the player, -1 when sent by the
+ *                       player itself
+ * @param mask           the fields present
+ * @param score          the score of the player
+ * @param lives          the lives of the player
+ * @param nbCorrectWords the number of correct words of the player
+ * @param level          the level of the player
+ */
+public record PlayerDelta(
+		long session,
+		int mask,
+		int score,
+		int lives,
+		int nbCorrectWords,
+		int level
+) {
+	public static final int SCORE = 1;
+	public static final int LIVES = 1 << 1;
+	public static final int CORRECT_WORDS = 1 << 2;
+	public static final int LEVEL = 1 << 3;
+
+	/**
+	 * The fields of the player which differ from the last state sent, the
+	 * last state is updated to the player
+	 *
+	 * @param sent   the last state sent, indexed like the mask bits
+	 * @param player the player
+	 * @return the delta, with an empty mask if nothing changed
+	 */
+	static PlayerDelta between(int[] sent, PlayerModel player) {
+		int score = player.getScore();
+		int lives = player.getLives();
+		int nbCorrectWords = player.getNbCorrectWords();
+		int level = player.getLevel();
+		int mask = 0;
+		if(sent[0] != score) mask |= SCORE;
+		if(sent[1] != lives) mask |= LIVES;
+		if(sent[2] != nbCorrectWords) mask |= CORRECT_WORDS;
+		if(sent[3] != level) mask |= LEVEL;
+		snapshot(sent, player);
+		return new PlayerDelta(-1, mask, score, lives, nbCorrectWords, level);
+	}
+
+	/**
+	 * Store the state of the player, to compute the next delta from
+	 *
+	 * @param sent   the state to overwrite
+	 * @param player the player
+	 */
+	static void snapshot(int[] sent, PlayerModel player) {
+		sent[0] = player.getScore();
+		sent[1] = player.getLives();
+		sent[2] = player.getNbCorrectWords();
+		sent[3] = player.getLevel();
+	}
+
+	/**
+	 * Whether no field changed
+	 *
+	 * @return if the mask is empty
+	 */
+	public boolean isEmpty() {
+		return mask == 0;
+	}
+
+	/**
+	 * Whether the field is present
+	 *
+	 * @param field the bit of the field
+	 * @return if the field changed
+	 */
+	public boolean has(int field) {
+		return (mask & field) != 0;
+	}
+
+	/**
+	 * The same delta for another session
+	 *
+	 * @param session the session of the player
+	 * @return the delta
+	 */
+	public PlayerDelta withSession(long session) {
+		return new PlayerDelta(session, mask, score, lives, nbCorrectWords, level);
+	}
+
+	/**
+	 * Combine a newer delta of the same player into this one
+	 *
+	 * @param newer the newer delta
+	 * @return the delta with the fields of both, the newer ones first
+	 */
+	public PlayerDelta merge(PlayerDelta newer) {
+		return new PlayerDelta(
+				newer.session,
+				mask | newer.mask,
+				newer.has(SCORE) ? newer.score : score,
+				newer.has(LIVES) ? newer.lives : lives,
+				newer.has(CORRECT_WORDS) ? newer.nbCorrectWords : nbCorrectWords,
+				newer.has(LEVEL) ? newer.level : level
+		);
+	}
+
+	/**
+	 * Apply the delta to a player, the player is not modified
+	 *
+	 * @param player the player
+	 * @return a new player with the changed fields
+	 */
+	public PlayerModel apply(PlayerModel player) {
+		int score = has(SCORE) ? this.score : player.getScore();
+		int nbCorrectWords = has(CORRECT_WORDS)
+				? this.nbCorrectWords
+				: player.getNbCorrectWords();
+		if(!player.hasLives())
+			return PlayerModel.restore(player.getName(), score, nbCorrectWords);
+		int lives = has(LIVES) ? this.lives : player.getLives();
+		return PlayerModel.restore(player.getName(), lives, score, nbCorrectWords);
+	}
+}
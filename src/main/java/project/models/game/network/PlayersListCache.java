@@ -0,0 +1,147 @@
+package project.models.game.network;
+
+import project.models.game.PlayerModel;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The last players list response of a server. The response stays fresh while
+ * the players table keeps the same version, or for a time to live after it
+ * changes. Once expired it is still served for a while as the refresh runs
+ * on an executor, and the concurrent callers share a single refresh. Both times are 0 by
+ * default, so a client always sees the state it pushed before.
+ */
+final class PlayersListCache {
+	private final Supplier<List<PlayerModel>> players;
+	private final LongSupplier version;
+	/**
+	 * The executor of the refreshes behind a stale response
+	 */
+	private final Executor executor;
+	private volatile Entry entry;
+	/**
+	 * The refresh in flight, or null
+	 */
+	private final AtomicReference<CompletableFuture<Response>> refreshing =
+			new AtomicReference<>();
+	private volatile long ttl;
+	private volatile long stale;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong staleHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong refreshes = new AtomicLong();
+
+	/**
+	 * @param players  the source of the players list
+	 * @param version  the version of the players table, changed with it
+	 * @param executor the executor of the refreshes behind a stale response
+	 */
+	PlayersListCache(
+			Supplier<List<PlayerModel>> players,
+			LongSupplier version,
+			Executor executor
+	) {
+		this.players = players;
+		this.version = version;
+		this.executor = executor;
+	}
+
+	private record Entry(long version, long created, Response response) {}
+
+	/**
+	 * Get the players list response, fresh or stale, or wait for the refresh
+	 * if there is no response which can be served
+	 *
+	 * @return a future of the response
+	 */
+	CompletableFuture<Response> get() {
+		Entry entry = this.entry;
+		if(entry != null) {
+			long age = System.currentTimeMillis() - entry.created;
+			if(entry.version == version.getAsLong() || age < ttl) {
+				hits.incrementAndGet();
+				return CompletableFuture.completedFuture(entry.response);
+			}
+			if(age < ttl + stale) {
+				staleHits.incrementAndGet();
+				// the caller is served at once and the refresh runs elsewhere,
+				// claimed first so a burst of stale hits submits only one
+				if(refreshing.get() == null) {
+					var future = new CompletableFuture<Response>();
+					if(refreshing.compareAndSet(null, future))
+						executor.execute(() -> rebuild(future));
+				}
+				return CompletableFuture.completedFuture(entry.response);
+			}
+		}
+		misses.incrementAndGet();
+		return refresh();
+	}
+
+	/**
+	 * Start a refresh unless one is in flight
+	 *
+	 * @return the refresh in flight
+	 */
+	private CompletableFuture<Response> refresh() {
+		var future = new CompletableFuture<Response>();
+		var running = refreshing.compareAndExchange(null, future);
+		if(running != null) return running;
+		rebuild(future);
+		return future;
+	}
+
+	/**
+	 * Build the list for the refresh claimed with the future, then release it
+	 *
+	 * @param future the future of the refresh
+	 */
+	private void rebuild(CompletableFuture<Response> future) {
+		try {
+			refreshes.incrementAndGet();
+			// read the version first, a change during the build makes the
+			// entry expire instead of hiding the change
+			long version = this.version.getAsLong();
+			var response = Response.playersList(players.get());
+			entry = new Entry(version, System.currentTimeMillis(), response);
+			future.complete(response);
+		} catch(RuntimeException e) {
+			future.completeExceptionally(e);
+		} finally {
+			refreshing.set(null);
+		}
+	}
+
+	/**
+	 * Set the time a response is served after the table changed
+	 *
+	 * @param ttl the time in milliseconds
+	 */
+	void setTtl(long ttl) {
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Set the time an expired response is still served while it is refreshed
+	 *
+	 * @param stale the time in milliseconds
+	 */
+	void setStale(long stale) {
+		this.stale = stale;
+	}
+
+	Server.CacheStats getStats() {
+		return new Server.CacheStats(
+				hits.get(),
+				staleHits.get(),
+				misses.get(),
+				refreshes.get()
+		);
+	}
+}
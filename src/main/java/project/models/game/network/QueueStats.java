@@ -0,0 +1,17 @@
+package project.models.game.network;
+
+/**
+ * The counters of a bounded queue of a connection
+ *
+ * @param depth    the number of queued messages
+ * @param capacity the maximum number of queued messages
+ * @param dropped  the number of messages dropped to make room
+ * @param refused  the number of messages which found no room, the connection
+ *                 is closed for each of them
+ */
+public record QueueStats(
+		int depth,
+		int capacity,
+		long dropped,
+		long refused
+) {}
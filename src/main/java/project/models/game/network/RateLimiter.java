@@ -0,0 +1,83 @@
+package project.models.game.network;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The rate limits of the requests of a server by type. Every connection has
+ * a token bucket per type, kept as the time at which its bucket is full again
+ * so a check is a comparison and never allocates.
+ */
+final class RateLimiter {
+	private static final Type[] TYPES = Type.values();
+	/**
+	 * The time in nanoseconds a token takes to come back, by type ordinal,
+	 * 0 when the type is not limited
+	 */
+	private final AtomicLongArray intervals = new AtomicLongArray(TYPES.length);
+	/**
+	 * The time in nanoseconds the bucket holds, the burst times the interval
+	 */
+	private final AtomicLongArray capacities = new AtomicLongArray(TYPES.length);
+
+	/**
+	 * Limit the requests of a type of every connection
+	 *
+	 * @param type      the type of the requests
+	 * @param perSecond the number of requests per second, 0 for no limit
+	 * @param burst     the number of requests accepted at once
+	 */
+	void setLimit(Type type, int perSecond, int burst) {
+		if(perSecond < 0 || burst < 1)
+			throw new IllegalArgumentException("Invalid limit");
+		long interval = perSecond == 0 ? 0 : 1_000_000_000L / perSecond;
+		capacities.set(type.ordinal(), interval * burst);
+		intervals.set(type.ordinal(), interval);
+	}
+
+	/**
+	 * Create the buckets of a connection, full
+	 *
+	 * @param now the current time in nanoseconds
+	 * @return the buckets
+	 */
+	long[] newBuckets(long now) {
+		var buckets = new long[TYPES.length];
+		Arrays.fill(buckets, now);
+		return buckets;
+	}
+
+	/**
+	 * Take a token from the bucket of the type
+	 *
+	 * @param buckets the buckets of the connection, only used by one thread
+	 * @param type    the type of the request
+	 * @param now     the current time in nanoseconds
+	 * @return false if the bucket is empty and the request must be dropped
+	 */
+	boolean tryAcquire(long[] buckets, Type type, long now) {
+		int i = type.ordinal();
+		long interval = intervals.get(i);
+		if(interval == 0) return true;
+		// the time at which the bucket is full, never before now
+		long full = Math.max(buckets[i] - now, 0);
+		if(full + interval > capacities.get(i)) return false;
+		buckets[i] = now + full + interval;
+		return true;
+	}
+
+	/**
+	 * Get the time until the bucket of the type has a token again
+	 *
+	 * @param buckets the buckets of the connection, only used by one thread
+	 * @param type    the type of the request
+	 * @param now     the current time in nanoseconds
+	 * @return the time in nanoseconds, 0 if a token is available
+	 */
+	long delay(long[] buckets, Type type, long now) {
+		int i = type.ordinal();
+		long interval = intervals.get(i);
+		if(interval == 0) return 0;
+		return Math.max(buckets[i] + interval - capacities.get(i) - now, 0);
+	}
+}
@@ -1,8 +1,10 @@
 package project.models.game.network;
 
+import project.models.game.PlayerModel;
 import project.models.game.words.Word;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Represents a network request
@@ -10,6 +12,20 @@ import java.io.Serializable;
 public sealed abstract class Request implements Serializable {
 	private final long created;
 	private final Type type;
+	/**
+	 * The session of the client who sent the request, set by the server
+	 * when the request is received
+	 *
+	 * @see #getOrigin()
+	 */
+	private transient long origin = -1;
+	/**
+	 * The id given by the client to match the response with the request,
+	 * 0 if no response is awaited
+	 *
+	 * @see #getId()
+	 */
+	private int id;
 
 	protected Request(Type type) {
 		this.created = System.currentTimeMillis();
@@ -62,6 +78,104 @@ public sealed abstract class Request implements Serializable {
 		return new GameStartRequest();
 	}
 
+	/**
+	 * Creates a new EliminatedRequest.
+	 *
+	 * @return a new EliminatedRequest
+	 */
+	public static Request eliminated() {
+		return new EliminatedRequest();
+	}
+
+	/**
+	 * Creates a new MatchOverRequest.
+	 *
+	 * @return a new MatchOverRequest
+	 */
+	public static Request matchOver() {
+		return new MatchOverRequest();
+	}
+
+	/**
+	 * Creates a new SessionRequest with the specified session id.
+	 *
+	 * @param session the session id of the client
+	 * @return a new SessionRequest
+	 */
+	public static Request session(long session) {
+		return new SessionRequest(session);
+	}
+
+	/**
+	 * Creates a new HelloRequest with the specified protocol version.
+	 *
+	 * @param version the version of the protocol of the client
+	 * @return a new HelloRequest
+	 */
+	public static Request hello(int version) {
+		return new HelloRequest(version);
+	}
+
+	/**
+	 * Creates a new PlayerStateRequest with the specified player.
+	 *
+	 * @param player the state of the player of the sender
+	 * @return a new PlayerStateRequest
+	 */
+	public static Request playerState(PlayerModel player) {
+		return new PlayerStateRequest(player);
+	}
+
+	/**
+	 * Creates a new PlayerDeltaRequest with the specified delta.
+	 *
+	 * @param delta the fields of the player which changed
+	 * @return a new PlayerDeltaRequest
+	 */
+	public static Request playerDelta(PlayerDelta delta) {
+		return new PlayerDeltaRequest(delta);
+	}
+
+	/**
+	 * Creates a new Request of type Subscribe.
+	 *
+	 * @return a new Request of type Subscribe
+	 */
+	public static Request subscribe() {
+		return new SubscribeRequest();
+	}
+
+	/**
+	 * Creates a new LobbyRequest with the specified snapshot.
+	 *
+	 * @param version the version of the snapshot
+	 * @param players the players of the lobby
+	 * @return a new LobbyRequest
+	 */
+	public static Request lobby(long version, List<PlayerModel> players) {
+		return new LobbyRequest(version, players);
+	}
+
+	/**
+	 * Creates a new HeartbeatRequest of type Ping.
+	 *
+	 * @param time the time of the sender in nanoseconds
+	 * @return a new HeartbeatRequest
+	 */
+	public static Request ping(long time) {
+		return new HeartbeatRequest(Type.Ping, time);
+	}
+
+	/**
+	 * Creates a new HeartbeatRequest of type Pong.
+	 *
+	 * @param time the time of the ping answered
+	 * @return a new HeartbeatRequest
+	 */
+	public static Request pong(long time) {
+		return new HeartbeatRequest(Type.Pong, time);
+	}
+
 	/**
 	 * Returns the type of the request.
 	 *
@@ -81,6 +195,34 @@ public sealed abstract class Request implements Serializable {
 		return created;
 	}
 
+	/**
+	 * Returns the session of the client who sent the request, or -1 if the
+	 * request was not received by a server.
+	 *
+	 * @return the session of the client who sent the request
+	 */
+	public long getOrigin() {
+		return origin;
+	}
+
+	void setOrigin(long origin) {
+		this.origin = origin;
+	}
+
+	/**
+	 * Returns the id of the request, carried back by its response, or 0 if
+	 * no response is awaited.
+	 *
+	 * @return the id of the request
+	 */
+	public int getId() {
+		return id;
+	}
+
+	void setId(int id) {
+		this.id = id;
+	}
+
 	/**
 	 * Represents a request containing a word.
 	 *
@@ -147,4 +289,189 @@ public sealed abstract class Request implements Serializable {
 			super(Type.GameStart);
 		}
 	}
+
+	/**
+	 * Represents a request indicating that the player of the sender is
+	 * eliminated.
+	 *
+	 * @see Request
+	 */
+	public static final class EliminatedRequest extends Request {
+		private EliminatedRequest() {
+			super(Type.Eliminated);
+		}
+	}
+
+	/**
+	 * Represents a request indicating that the match is over.
+	 *
+	 * @see Request
+	 */
+	public static final class MatchOverRequest extends Request {
+		private MatchOverRequest() {
+			super(Type.MatchOver);
+		}
+	}
+
+	/**
+	 * Represents a request giving a client its session id on the server.
+	 *
+	 * @see Request
+	 */
+	public static final class SessionRequest extends Request {
+		private final long session;
+
+		private SessionRequest(long session) {
+			super(Type.Session);
+			this.session = session;
+		}
+
+		/**
+		 * Returns the session id of the client.
+		 *
+		 * @return the session id of the client
+		 */
+		public long getSession() {
+			return session;
+		}
+	}
+
+	/**
+	 * Represents the request opening the handshake of a client.
+	 *
+	 * @see Request
+	 */
+	public static final class HelloRequest extends Request {
+		private final int version;
+
+		private HelloRequest(int version) {
+			super(Type.Hello);
+			this.version = version;
+		}
+
+		/**
+		 * Returns the version of the protocol of the client.
+		 *
+		 * @return the version of the protocol
+		 */
+		public int getVersion() {
+			return version;
+		}
+	}
+
+	/**
+	 * Represents a request containing the state of the player of the sender.
+	 *
+	 * @see Request
+	 */
+	public static final class PlayerStateRequest extends Request {
+		private final PlayerModel player;
+
+		private PlayerStateRequest(PlayerModel player) {
+			super(Type.PlayerState);
+			this.player = player;
+		}
+
+		/**
+		 * Returns the state of the player.
+		 *
+		 * @return the state of the player
+		 */
+		public PlayerModel getPlayer() {
+			return player;
+		}
+	}
+
+	/**
+	 * Represents a request containing the fields of a player which changed.
+	 *
+	 * @see Request
+	 */
+	public static final class PlayerDeltaRequest extends Request {
+		private final PlayerDelta delta;
+
+		private PlayerDeltaRequest(PlayerDelta delta) {
+			super(Type.PlayerDelta);
+			this.delta = delta;
+		}
+
+		/**
+		 * Returns the fields of the player which changed.
+		 *
+		 * @return the fields of the player which changed
+		 */
+		public PlayerDelta getDelta() {
+			return delta;
+		}
+	}
+
+	/**
+	 * Represents a request registering the interest of a client in the lobby.
+	 *
+	 * @see Request
+	 */
+	public static final class SubscribeRequest extends Request {
+		private SubscribeRequest() {
+			super(Type.Subscribe);
+		}
+	}
+
+	/**
+	 * Represents a request containing a snapshot of the players of the lobby.
+	 *
+	 * @see Request
+	 */
+	public static final class LobbyRequest extends Request {
+		private final long version;
+		private final List<PlayerModel> players;
+
+		private LobbyRequest(long version, List<PlayerModel> players) {
+			super(Type.Lobby);
+			this.version = version;
+			this.players = players;
+		}
+
+		/**
+		 * Returns the version of the snapshot, a greater version is newer.
+		 *
+		 * @return the version of the snapshot
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * Returns the players of the lobby.
+		 *
+		 * @return the players of the lobby
+		 */
+		public List<PlayerModel> getPlayers() {
+			return players;
+		}
+	}
+
+	/**
+	 * Represents a ping or a pong, the pong carries the time of its ping so
+	 * the sender of the ping measures the round trip time.
+	 *
+	 * @see Request
+	 */
+	public static final class HeartbeatRequest extends Request {
+		private final long time;
+
+		private HeartbeatRequest(Type type, long time) {
+			super(type);
+			this.time = time;
+		}
+
+		/**
+		 * Returns the time of the ping in nanoseconds, on the clock of its
+		 * sender.
+		 *
+		 * @return the time of the ping
+		 */
+		public long getTime() {
+			return time;
+		}
+	}
 }
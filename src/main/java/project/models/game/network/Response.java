@@ -13,6 +13,13 @@ import java.util.List;
 public sealed abstract class Response implements Serializable {
 	private final long created;
 	private final Type type;
+	/**
+	 * The id of the request answered by this response, 0 for a response
+	 * pushed by the server
+	 *
+	 * @see #getCorrelation()
+	 */
+	private int correlation;
 
 	protected Response(Type type) {
 		this.created = System.currentTimeMillis();
@@ -63,6 +70,17 @@ public sealed abstract class Response implements Serializable {
 		return new ConfigurationResponse(model);
 	}
 
+	/**
+	 * Creates a new ErrorResponse refusing a request.
+	 *
+	 * @param message the reason of the refusal
+	 * @return a new ErrorResponse
+	 * @see ErrorResponse
+	 */
+	public static Response error(String message) {
+		return new ErrorResponse(message);
+	}
+
 	/**
 	 * Returns the time when this response was created.
 	 *
@@ -72,6 +90,20 @@ public sealed abstract class Response implements Serializable {
 		return created;
 	}
 
+	/**
+	 * Returns the id of the request answered by this response, or 0 for a
+	 * response pushed by the server.
+	 *
+	 * @return the id of the request
+	 */
+	public int getCorrelation() {
+		return correlation;
+	}
+
+	void setCorrelation(int correlation) {
+		this.correlation = correlation;
+	}
+
 	/**
 	 * Returns the type of this response.
 	 *
@@ -82,7 +114,6 @@ public sealed abstract class Response implements Serializable {
 		return type;
 	}
 
-
 	/**
 	 * Represents a response containing a word.
 	 */
@@ -166,4 +197,25 @@ public sealed abstract class Response implements Serializable {
 			return configuration;
 		}
 	}
+
+	/**
+	 * Represents a response refusing a request.
+	 */
+	public static final class ErrorResponse extends Response {
+		private final String message;
+
+		private ErrorResponse(String message) {
+			super(Type.Error);
+			this.message = message;
+		}
+
+		/**
+		 * Returns the reason of the refusal.
+		 *
+		 * @return the reason of the refusal
+		 */
+		public String getMessage() {
+			return message;
+		}
+	}
 }
@@ -1,50 +1,267 @@
 package project.models.game.network;
 
+import project.models.game.PlayerModel;
+
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 /**
- * A server that can host a game
+ * A server that can host a game. The connections are non-blocking and
+ * served by a fixed number of event loops, whatever the number of clients.
+ * A new connection must send a hello before its handshake timeout, it is
+ * then given a session and joins the connected clients.
  */
 public final class Server {
-	private final ServerSocket socket;
-	private final Map<InetAddress, Queue<Request>> requests;
-	private final Map<InetAddress, Queue<Response>> responses;
-	private final Queue<ClientHandler> clients;
-	private final Map<Type, Handler> handlers;
 	/**
-	 * A thread who listen for new clients
+	 * The default time between two lobbies pushed to the subscribers, 20 per
+	 * second
+	 */
+	public static final long DEFAULT_LOBBY_TICK = 50;
+	/**
+	 * The initial size of the read buffer of a connection
+	 */
+	private static final int BUFFER_SIZE = 8 * 1024;
+	/**
+	 * The maximum number of frames written by a single gathering write
+	 */
+	private static final int MAX_GATHER = 64;
+	/**
+	 * The maximum number of requests of a connection waiting for the
+	 * responder, the connection is closed beyond
+	 */
+	static final int MAX_REQUESTS = 256;
+	/**
+	 * The maximum number of frames queued to a connection
+	 *
+	 * @see Overflow#of(Type)
+	 */
+	static final int MAX_OUTBOUND = 1024;
+	/**
+	 * The default number of bytes a connection reads before its grown
+	 * read buffer is shrunk back
+	 */
+	private static final int DEFAULT_BUFFER_RESET = 256 * 1024;
+	/**
+	 * The version of the protocol, a client of another version is refused
+	 */
+	static final int PROTOCOL_VERSION = 1;
+	/**
+	 * The maximum number of connections waiting for their handshake, the
+	 * connections accepted beyond are closed right away
+	 */
+	private static final int MAX_HANDSHAKES = 1024;
+	/**
+	 * The default time a connection has to send its hello
+	 */
+	private static final long DEFAULT_HANDSHAKE_TIMEOUT = 5000;
+	/**
+	 * The default time between two pings of a connection
+	 */
+	private static final long DEFAULT_HEARTBEAT = 1000;
+	/**
+	 * The default time after which a silent connection is closed
+	 */
+	private static final long DEFAULT_IDLE_TIMEOUT = 5000;
+	private final ServerSocketChannel socket;
+	/**
+	 * The event loops serving the connections, assigned in turn
+	 */
+	private final EventLoop[] loops;
+	/**
+	 * The connected clients by session id
+	 */
+	private final Map<Long, ClientHandler> clients;
+	/**
+	 * The last session id given to a client
+	 */
+	private final AtomicLong sessions;
+	/**
+	 * The client of each received request, in order, the responder waits on
+	 * it instead of scanning the queues of requests
+	 */
+	private final BlockingQueue<ClientHandler> ready;
+	private final Dispatcher handlers;
+	private final Interceptor.Timing timing;
+	/**
+	 * The sessions of the clients whose player is still alive in the
+	 * running match
+	 *
+	 * @see #startMatch()
+	 * @see #eliminate(long)
+	 */
+	private final Set<Long> alive;
+	/**
+	 * The number of bytes a connection reads before its read buffer grown by
+	 * a large message is shrunk back to its initial size, 0 to shrink it
+	 * after every message
+	 *
+	 * @see #setBufferReset(int)
+	 */
+	private volatile int bufferReset = DEFAULT_BUFFER_RESET;
+	/**
+	 * The number of times read buffers were shrunk back
+	 *
+	 * @see #getBufferResets()
+	 */
+	private final AtomicLong bufferResets = new AtomicLong();
+	/**
+	 * The time in milliseconds a connection has to send its hello
+	 *
+	 * @see #setHandshakeTimeout(long)
+	 */
+	private volatile long handshakeTimeout = DEFAULT_HANDSHAKE_TIMEOUT;
+	/**
+	 * @see #setHeartbeat(long, long)
+	 */
+	private volatile long heartbeat = DEFAULT_HEARTBEAT;
+	private volatile long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+	/**
+	 * The number of connections waiting for their handshake
+	 */
+	private final AtomicInteger handshakes = new AtomicInteger();
+	private final AtomicLong accepted = new AtomicLong();
+	private final AtomicLong joined = new AtomicLong();
+	private final AtomicLong refused = new AtomicLong();
+	private final AtomicLong timedOut = new AtomicLong();
+	private final AtomicLong reaped = new AtomicLong();
+	/**
+	 * Changed whenever a player joins, leaves or changes
+	 */
+	private final AtomicLong tableVersion = new AtomicLong();
+	private final PlayersListCache playersList;
+	/**
+	 * Whether the table changed since the subscribers were sent the lobby
+	 */
+	private final AtomicBoolean tableChanged = new AtomicBoolean();
+	private final Semaphore tableChanges = new Semaphore(0);
+	private volatile long lobbyTick = DEFAULT_LOBBY_TICK;
+	/**
+	 * The rate limits of the requests, enforced by the event loops before
+	 * the requests are queued
+	 *
+	 * @see #setRateLimit(Type, int, int)
+	 */
+	private final RateLimiter limiter = new RateLimiter();
+	private final AtomicLong limited = new AtomicLong();
+	/**
+	 * A thread who accepts new clients
 	 */
 	private final Thread listening;
 	/**
 	 * A thread who responds to the requests
 	 */
 	private final Thread responding;
+	/**
+	 * A thread who pushes the lobby to the subscribers when it changes
+	 */
+	private final Thread publishing;
+	/**
+	 * The threads on which the server runs
+	 */
+	private final ExecutionMode mode;
+	/**
+	 * The executor on which the responses are sent and the players who left
+	 * are eliminated
+	 */
+	private final HandlerExecutor executor;
 
 	public Server(int port) throws IOException {
-		this.handlers = new ConcurrentHashMap<>();
-		this.handlers.put(Type.Word, Handler.wordRequest());
-		this.handlers.put(Type.PlayersList, Handler.playersListRequest(this));
-		this.handlers.put(Type.PlayerModel, Handler.playerModelRequest());
-		this.handlers.put(Type.Configuration, Handler.configurationRequest());
+		this(port, ExecutionMode.Platform);
+	}
+
+	/**
+	 * Create a server on the given port
+	 *
+	 * @param port the port
+	 * @param mode the threads on which the server and its handlers run
+	 * @throws IOException if the port cannot be bound
+	 */
+	public Server(int port, ExecutionMode mode) throws IOException {
+		this(port, Math.min(4, Runtime.getRuntime().availableProcessors()), mode);
+	}
 
-		this.socket = new ServerSocket(port);
-		this.requests = new ConcurrentHashMap<>();
-		this.responses = new ConcurrentHashMap<>();
-		this.clients = new ConcurrentLinkedQueue<>();
-		this.listening = new Thread(this::listener);
-		this.responding = new Thread(this::responder);
+	/**
+	 * Create a server on the given port
+	 *
+	 * @param port  the port
+	 * @param loops the number of event loops serving the connections
+	 * @param mode  the threads on which the server and its handlers run
+	 * @throws IOException if the port cannot be bound
+	 */
+	public Server(int port, int loops, ExecutionMode mode) throws IOException {
+		this.mode = mode;
+		this.executor = new HandlerExecutor(
+				"Server responses", mode, 2, 1024,
+				HandlerExecutor.Policy.CallerRuns
+		);
+		this.playersList = new PlayersListCache(
+				this::getPlayers,
+				tableVersion::get,
+				executor
+		);
+		this.timing = new Interceptor.Timing();
+		this.handlers = new Dispatcher();
+		this.handlers.intercept(timing);
+		this.handlers.intercept(Interceptor.validating(this::isValid));
+		this.handlers.register(Type.Word, Handler.wordRequest());
+		this.handlers.register(Type.PlayersList, Handler.playersListRequest(this));
+		this.handlers.register(Type.PlayerState, Handler.playerStateRequest(this));
+		this.handlers.register(Type.PlayerDelta, Handler.playerDeltaRequest(this));
+		this.handlers.register(Type.Subscribe, Handler.subscribeRequest(this));
+		this.handlers.register(Type.Configuration, Handler.configurationRequest());
+		this.handlers.register(Type.Eliminated, Handler.eliminatedRequest(this));
+
+		// the requests which are forwarded to every client or rebuild a list
+		this.limiter.setLimit(Type.Word, 20, 40);
+		this.limiter.setLimit(Type.PlayersList, 10, 20);
+		this.limiter.setLimit(Type.PlayerState, 20, 40);
+		this.limiter.setLimit(Type.PlayerDelta, 50, 100);
+		this.limiter.setLimit(Type.Subscribe, 1, 5);
+
+		this.socket = ServerSocketChannel.open();
+		this.socket.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		this.socket.bind(new InetSocketAddress(port));
+		this.loops = new EventLoop[Math.max(1, loops)];
+		for(int i = 0; i < this.loops.length; i++)
+			this.loops[i] = new EventLoop(i);
+		this.clients = new ConcurrentHashMap<>();
+		this.sessions = new AtomicLong();
+		this.ready = new LinkedBlockingQueue<>();
+		this.alive = ConcurrentHashMap.newKeySet();
+		this.listening = mode.newThread(this::listener, "Server listening");
+		this.publishing = mode.newThread(this::publisher, "Server publishing");
+		this.responding = mode.newThread(this::responder, "Server responding");
 	}
 
 	/**
@@ -52,10 +269,12 @@ public final class Server {
 	 */
 	public void start() {
 		clients.clear();
-		requests.clear();
-		responses.clear();
+		ready.clear();
+		for(EventLoop loop: loops)
+			loop.thread.start();
 		listening.start();
 		responding.start();
+		publishing.start();
 	}
 
 	/**
@@ -65,16 +284,65 @@ public final class Server {
 	 * @throws IOException          if an I/O error occurs
 	 */
 	public void stop() throws InterruptedException, IOException {
-		for(ClientHandler client: clients)
+		for(ClientHandler client: clients.values())
 			client.stop();
 		socket.close();
 		listening.interrupt();
 		responding.interrupt();
+		publishing.interrupt();
 		listening.join();
 		responding.join();
+		publishing.join();
+		for(EventLoop loop: loops)
+			loop.stop();
 		clients.clear();
-		requests.clear();
-		responses.clear();
+		ready.clear();
+		executor.shutdown();
+	}
+
+	/**
+	 * Get the executors of the handlers, to read their counters or change
+	 * their policy
+	 *
+	 * @return the executors
+	 */
+	public List<HandlerExecutor> getExecutors() {
+		return List.of(executor);
+	}
+
+	/**
+	 * Add an interceptor around every handler of the server, it runs after
+	 * the timing and the validation of the requests
+	 *
+	 * @param interceptor the interceptor
+	 */
+	public void addInterceptor(Interceptor interceptor) {
+		handlers.intercept(interceptor);
+	}
+
+	/**
+	 * Get the number of requests handled by type and the time they took
+	 *
+	 * @return the timing of the handlers
+	 */
+	public Interceptor.Timing getTiming() {
+		return timing;
+	}
+
+	/**
+	 * Whether a request can reach its handler, the requests of a client
+	 * which left and the empty words or players are dropped
+	 *
+	 * @param request the request
+	 * @return if the request is valid
+	 */
+	private boolean isValid(Request request) {
+		if(!clients.containsKey(request.getOrigin())) return false;
+		if(request instanceof Request.WordRequest req)
+			return !req.getWord().content().isEmpty();
+		if(request instanceof Request.PlayerStateRequest req)
+			return req.getPlayer() != null;
+		return true;
 	}
 
 	/**
@@ -83,7 +351,7 @@ public final class Server {
 	 * @return the address of the server
 	 */
 	public InetAddress getAddress() {
-		return socket.getInetAddress();
+		return socket.socket().getInetAddress();
 	}
 
 	/**
@@ -92,7 +360,213 @@ public final class Server {
 	 * @return the port of the server
 	 */
 	public int getPort() {
-		return socket.getLocalPort();
+		return socket.socket().getLocalPort();
+	}
+
+	/**
+	 * Set the number of bytes a connection reads before its read buffer grown
+	 * by a large message is shrunk back to its initial size
+	 *
+	 * @param bytes the number of bytes, 0 to shrink it after every message
+	 */
+	public void setBufferReset(int bytes) {
+		if(bytes < 0)
+			throw new IllegalArgumentException("bytes must not be negative");
+		this.bufferReset = bytes;
+	}
+
+	/**
+	 * Get the number of times the read buffer of a connection was shrunk back
+	 *
+	 * @return the number of resets
+	 */
+	public long getBufferResets() {
+		return bufferResets.get();
+	}
+
+	/**
+	 * Set the time a new connection has to send its hello before it is closed
+	 *
+	 * @param millis the timeout in milliseconds
+	 */
+	public void setHandshakeTimeout(long millis) {
+		if(millis <= 0)
+			throw new IllegalArgumentException("millis must be positive");
+		this.handshakeTimeout = millis;
+	}
+
+	/**
+	 * Set how often the connections are pinged and how long a connection may
+	 * stay silent before it is closed. The clients answer every ping, so only
+	 * a dead or stuck peer stays silent.
+	 *
+	 * @param interval    the time between two pings in milliseconds
+	 * @param idleTimeout the time without any message in milliseconds
+	 */
+	public void setHeartbeat(long interval, long idleTimeout) {
+		if(interval <= 0 || idleTimeout <= interval)
+			throw new IllegalArgumentException(
+					"interval must be positive and shorter than idleTimeout");
+		this.heartbeat = interval;
+		this.idleTimeout = idleTimeout;
+	}
+
+	/**
+	 * Get the last round trip time measured with a client
+	 *
+	 * @param session the session of the client
+	 * @return the time in nanoseconds, or -1 if the client is not connected or
+	 * did not answer a ping yet
+	 */
+	public long getRoundTripTime(long session) {
+		var client = clients.get(session);
+		return client != null ? client.getRoundTripTime() : -1;
+	}
+
+	/**
+	 * Get the counters of the connections since the server was created
+	 *
+	 * @return the counters
+	 */
+	public ConnectionStats getConnectionStats() {
+		return new ConnectionStats(
+				accepted.get(),
+				joined.get(),
+				refused.get(),
+				timedOut.get(),
+				reaped.get(),
+				handshakes.get()
+		);
+	}
+
+	/**
+	 * The counters of the connections of a server
+	 *
+	 * @param accepted    the number of accepted connections
+	 * @param joined      the number of connections which completed their
+	 *                    handshake
+	 * @param refused     the number of connections closed because too many
+	 *                    handshakes were pending, or with an invalid hello
+	 * @param timedOut    the number of connections closed because they did not
+	 *                    send their hello in time
+	 * @param reaped      the number of joined connections closed because they
+	 *                    stayed silent
+	 * @param handshaking the number of connections waiting for their handshake
+	 */
+	public record ConnectionStats(
+			long accepted,
+			long joined,
+			long refused,
+			long timedOut,
+			long reaped,
+			int handshaking
+	) {}
+
+	/**
+	 * Set the time the players list is served from the cache after a player
+	 * joined, left or changed
+	 *
+	 * @param millis the time in milliseconds
+	 */
+	public void setPlayersListTtl(long millis) {
+		if(millis < 0)
+			throw new IllegalArgumentException("millis must not be negative");
+		playersList.setTtl(millis);
+	}
+
+	/**
+	 * Set the time an expired players list is still served while it is
+	 * refreshed
+	 *
+	 * @param millis the time in milliseconds
+	 */
+	public void setPlayersListStale(long millis) {
+		if(millis < 0)
+			throw new IllegalArgumentException("millis must not be negative");
+		playersList.setStale(millis);
+	}
+
+	/**
+	 * Get the counters of the players list cache since the server was created
+	 *
+	 * @return the counters
+	 */
+	public CacheStats getPlayersListStats() {
+		return playersList.getStats();
+	}
+
+	/**
+	 * The counters of the players list cache of a server
+	 *
+	 * @param hits      the number of requests answered with a fresh list
+	 * @param stale     the number of requests answered with an expired list
+	 *                  while it was refreshed
+	 * @param misses    the number of requests which waited for a refresh
+	 * @param refreshes the number of times the list was built
+	 */
+	public record CacheStats(long hits, long stale, long misses, long refreshes) {}
+
+	/**
+	 * Get the capacity of the read buffers and queued frames held by the
+	 * connections, an estimate as they change while it is computed
+	 *
+	 * @return the number of bytes
+	 */
+	public long getRetainedBytes() {
+		Set<ByteBuffer> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+		long bytes = 0;
+		for(ClientHandler client: clients.values())
+			bytes += client.getRetainedBytes(shared);
+		for(ByteBuffer frame: shared)
+			bytes += frame.capacity();
+		return bytes;
+	}
+
+	/**
+	 * Limit the number of requests of a type of every client. The player
+	 * states and deltas beyond are merged and handled once the limit allows
+	 * it, the calls beyond are answered with an error and the other requests
+	 * are dropped. The words, the players list, the player states and the
+	 * subscriptions are limited by default.
+	 *
+	 * @param type      the type of the requests
+	 * @param perSecond the number of requests per second, 0 for no limit
+	 * @param burst     the number of requests accepted at once
+	 */
+	public void setRateLimit(Type type, int perSecond, int burst) {
+		limiter.setLimit(type, perSecond, burst);
+	}
+
+	/**
+	 * Get the number of requests over the rate limits since the server was
+	 * created, whether merged, refused or dropped
+	 *
+	 * @return the number of requests
+	 */
+	public long getLimitedRequests() {
+		return limited.get();
+	}
+
+	/**
+	 * Get the counters of the requests of a client waiting for the responder
+	 *
+	 * @param session the session of the client
+	 * @return the counters, or null if the client is not connected
+	 */
+	public QueueStats getInboundStats(long session) {
+		var client = clients.get(session);
+		return client != null ? client.getInboundStats() : null;
+	}
+
+	/**
+	 * Get the counters of the frames queued to a client
+	 *
+	 * @param session the session of the client
+	 * @return the counters, or null if the client is not connected
+	 */
+	public QueueStats getOutboundStats(long session) {
+		var client = clients.get(session);
+		return client != null ? client.getOutboundStats() : null;
 	}
 
 	/**
@@ -102,9 +576,55 @@ public final class Server {
 	 * @param filter  the predicate to filter out clients
 	 */
 	public void sendAll(Request request, Predicate<ClientHandler> filter) {
-		clients.parallelStream()
-			   .filter(filter)
-			   .forEach(c -> c.send(request));
+		broadcast(request, filter);
+	}
+
+	/**
+	 * Encode a message once and queue the same bytes to every client who is
+	 * not filtered out by the predicate
+	 *
+	 * @param message the message, a request or a response
+	 * @param filter  the predicate to filter out clients
+	 */
+	private void broadcast(Object message, Predicate<ClientHandler> filter) {
+		ByteBuffer frame;
+		try {
+			frame = Codec.encodeShared(message);
+		} catch(IOException e) {
+			return;
+		}
+		for(ClientHandler client: clients.values())
+			if(filter.test(client))
+				client.queue(frame.duplicate(), frame);
+	}
+
+	/**
+	 * Encode a message and queue it to a single client
+	 *
+	 * @param client  the client
+	 * @param message the message, a request or a response
+	 */
+	private static void send(ClientHandler client, Object message) {
+		try {
+			client.queue(Codec.encode(message));
+		} catch(IOException ignored) {}
+	}
+
+	/**
+	 * Encode a response to a request of a client and queue it to this client
+	 *
+	 * @param client   the client
+	 * @param response the response
+	 * @param request  the request answered by the response
+	 */
+	private static void reply(
+			ClientHandler client,
+			Response response,
+			Request request
+	) {
+		try {
+			client.queue(Codec.encode(response, request.getId()));
+		} catch(IOException ignored) {}
 	}
 
 	/**
@@ -117,196 +637,815 @@ public final class Server {
 	}
 
 	/**
-	 * Wait at most 1 second for a response from all clients who are not
-	 * filtered out by the predicate
+	 * Start a match with every connected client alive, the lobby is no
+	 * longer pushed to the subscribers until the match is over as the
+	 * players follow each other with the deltas
+	 */
+	public synchronized void startMatch() {
+		alive.clear();
+		alive.addAll(clients.keySet());
+	}
+
+	/**
+	 * Remove a client from the players alive in the running match, and push
+	 * the end of the match to all clients when less than two are left
 	 *
-	 * @param type   the type of the response
-	 * @param filter the predicate to filter out clients
-	 * @return a stream of responses
+	 * @param session the session of the eliminated client
 	 */
-	public Stream<Response> receiveAll(
-			Type type,
-			Predicate<Queue<Response>> filter
-	) {
-		return responses.values()
-						.parallelStream()
-						.filter(filter)
-						.map(q -> {
-							long end = System.currentTimeMillis() + 1000;
-							Response res = null;
-							while((res == null || res.getType() != type) &&
-									System.currentTimeMillis() < end) {
-								if(res != null) q.add(res);
-								res = q.poll();
-								Thread.onSpinWait();
-							}
-							return res;
-						}).filter(Objects::nonNull);
+	public synchronized void eliminate(long session) {
+		if(alive.remove(session) && alive.size() < 2) {
+			alive.clear();
+			sendAll(Request.matchOver());
+			// the subscribers get the lobby they missed during the match
+			tableChanged();
+		}
 	}
 
 	/**
-	 * Wait at most 1 second for a response from all clients
+	 * Set the state of the player of a client, pushed by the client whenever
+	 * it changes
 	 *
-	 * @param type the type of the response
-	 * @return a stream of responses
+	 * @param session the session of the client
+	 * @param player  the player
 	 */
-	public Stream<Response> receiveAll(Type type) {
-		return receiveAll(type, q -> true);
+	public void updatePlayer(long session, PlayerModel player) {
+		var client = clients.get(session);
+		if(client != null) {
+			client.player = player;
+			tableChanged();
+		}
 	}
 
-	private void listener() {
+	/**
+	 * Apply the fields of a player which changed to the players table and
+	 * forward them to the other clients. The clients already coalesce their
+	 * changes, so the deltas are forwarded as they come.
+	 *
+	 * @param session the session of the client
+	 * @param delta   the fields which changed
+	 */
+	public void applyDelta(long session, PlayerDelta delta) {
+		var client = clients.get(session);
+		if(client == null || delta.isEmpty()) return;
+		var player = client.player;
+		// the state is pushed before the first delta, so it is only missing
+		// if the client does not follow the protocol
+		if(player != null) {
+			client.player = delta.apply(player);
+			tableChanged();
+		}
+		broadcast(
+				Request.playerDelta(delta.withSession(session)),
+				c -> c.isNotSession(session)
+		);
+	}
+
+	/**
+	 * Change the version of the players table and wake up the publisher
+	 */
+	private void tableChanged() {
+		tableVersion.incrementAndGet();
+		if(tableChanged.compareAndSet(false, true))
+			tableChanges.release();
+	}
+
+	/**
+	 * Push the lobby to the client now and whenever it changes afterwards
+	 *
+	 * @param session the session of the client
+	 */
+	public void subscribe(long session) {
+		var client = clients.get(session);
+		if(client == null) return;
+		client.subscribed = true;
+		long version = tableVersion.get();
+		send(client, Request.lobby(version, getPlayers()));
+	}
+
+	/**
+	 * Set the time between two lobbies pushed to the subscribers, the changes
+	 * made in between are pushed together
+	 *
+	 * @param millis the time in milliseconds
+	 */
+	public void setLobbyTick(long millis) {
+		if(millis < 0)
+			throw new IllegalArgumentException("millis must not be negative");
+		this.lobbyTick = millis;
+	}
+
+	/**
+	 * Push the lobby to the subscribers when the players table changed, then
+	 * wait for a tick so the next changes are pushed together. Nothing is
+	 * sent while the table does not change or a match is running.
+	 */
+	private void publisher() {
 		while(!Thread.interrupted()) {
 			try {
-				var socket = this.socket.accept();
-				if(requests.containsKey(socket.getInetAddress())) {
-					socket.close();
+				tableChanges.acquire();
+				tableChanged.set(false);
+				if(!alive.isEmpty() ||
+						clients.values().stream().noneMatch(c -> c.subscribed))
 					continue;
-				}
-
-				requests.put(
-						socket.getInetAddress(),
-						new ConcurrentLinkedQueue<>()
-				);
-				responses.put(
-						socket.getInetAddress(),
-						new ConcurrentLinkedQueue<>()
+				long version = tableVersion.get();
+				broadcast(
+						Request.lobby(version, getPlayers()),
+						c -> c.subscribed
 				);
+				Thread.sleep(lobbyTick);
+			} catch(InterruptedException e) {
+				return;
+			}
+		}
+	}
 
-				var client = new ClientHandler(socket);
-				clients.add(client);
+	/**
+	 * Get the players list response, from the cache when it is fresh enough
+	 *
+	 * @return a future of the response
+	 * @see #setPlayersListTtl(long)
+	 */
+	CompletableFuture<Response> getPlayersListResponse() {
+		return playersList.get();
+	}
+
+	/**
+	 * Get the last state pushed by the player of every connected client, in
+	 * the order they joined
+	 *
+	 * @return the players
+	 */
+	public List<PlayerModel> getPlayers() {
+		return clients.values()
+					  .stream()
+					  .filter(c -> c.player != null)
+					  .sorted(Comparator.comparingLong(c -> c.session))
+					  .map(c -> c.player)
+					  .toList();
+	}
+
+	private void listener() {
+		int next = 0;
+		while(!Thread.interrupted() && socket.isOpen()) {
+			try {
+				var channel = socket.accept();
+				accepted.incrementAndGet();
+				if(handshakes.incrementAndGet() > MAX_HANDSHAKES) {
+					handshakes.decrementAndGet();
+					refused.incrementAndGet();
+					channel.close();
+					continue;
+				}
+				// the handshake is done by the event loop, never on this thread
+				new ClientHandler(channel, loops[next]);
+				next = (next + 1) % loops.length;
 			} catch(IOException ignored) {}
-			Thread.onSpinWait();
 		}
 	}
 
 	/**
-	 * Respond to all requests of the client in the queue
+	 * Respond to the next request of the client in its queue
 	 *
-	 * @param entry the entry of the client
+	 * @param client the client
 	 */
-	private void handleRequestQueue(Map.Entry<InetAddress, Queue<Request>> entry) {
-		Request request;
-		while((request = entry.getValue().poll()) != null) {
-			var completable = handlers.getOrDefault(
-					request.getType(),
-					Handler.empty()
-			).handle(request);
-			completable.thenAcceptAsync(
-					response -> {
-						if(response == null) return;
-						if(response.getType() == Type.Word)
-							clients.parallelStream()
-								   .filter(c -> c.isNotAddress(entry.getKey()))
-								   .forEach(c -> c.send(response));
-						else
-							clients.parallelStream()
-								   .filter(c -> c.isAddress(entry.getKey()))
-								   .forEach(c -> c.send(response));
-					}
-			);
-		}
+	private void handleRequestQueue(ClientHandler client) {
+		Request request = client.requests.poll();
+		if(request == null) return;
+		var completable = handlers.dispatch(request);
+		completable.thenAcceptAsync(
+				response -> {
+					if(response == null) return;
+					if(response.getType() == Type.Word)
+						broadcast(response, c -> c != client);
+					else
+						reply(client, response, request);
+				},
+				executor
+		);
 	}
 
 	private void responder() {
 		while(!Thread.interrupted()) {
-			requests.entrySet()
-					.parallelStream()
-					.filter(e -> !e.getValue().isEmpty())
-					.forEach(this::handleRequestQueue);
-			Thread.onSpinWait();
+			try {
+				handleRequestQueue(ready.take());
+			} catch(InterruptedException e) {
+				return;
+			}
 		}
 	}
 
 	/**
-	 * A handler for a client connection, which listens for requests and
-	 * responses
+	 * An event loop waiting for the readiness of the connections registered on
+	 * its selector, and reading or writing them without blocking
 	 */
-	public class ClientHandler {
-		private final Object lock = new Object();
-		private final Socket socket;
-		private final ObjectInputStream input;
-		private final ObjectOutputStream output;
+	/**
+	 * A frame queued to a connection
+	 *
+	 * @param buffer the bytes to write, owned by the connection or a view
+	 * @param shared the frame the view is over, shared with other
+	 *               connections, or null if the buffer is owned
+	 */
+	private record Frame(ByteBuffer buffer, ByteBuffer shared) {}
+
+	private final class EventLoop {
+		private final Selector selector;
+		/**
+		 * The connections waiting to be registered on the selector
+		 */
+		private final Queue<ClientHandler> pending;
 		/**
-		 * The thread that listens for requests and responses
+		 * The connections registered on this loop waiting for their hello,
+		 * in the order of their deadline
 		 */
+		private final Queue<ClientHandler> handshaking;
 		private final Thread thread;
+		/**
+		 * The connections holding player states over their rate limit
+		 */
+		private final Queue<ClientHandler> holding;
+		/**
+		 * The time of the next heartbeat of this loop
+		 */
+		private long nextBeat;
 
-		private ClientHandler(Socket socket) throws IOException {
-			this.socket = socket;
-			this.input = new ObjectInputStream(socket.getInputStream());
-			this.output = new ObjectOutputStream(socket.getOutputStream());
-			this.thread = new Thread(this::listener);
-			this.thread.start();
+		private EventLoop(int index) throws IOException {
+			this.selector = Selector.open();
+			this.pending = new ConcurrentLinkedQueue<>();
+			this.handshaking = new ArrayDeque<>();
+			this.holding = new ArrayDeque<>();
+			this.thread = mode.newThread(this::run, "Server loop " + index);
+		}
+
+		/**
+		 * Register a connection on this loop
+		 *
+		 * @param client the connection
+		 */
+		private void register(ClientHandler client) {
+			pending.add(client);
+			selector.wakeup();
 		}
 
 		private void stop() throws InterruptedException, IOException {
-			input.close();
-			output.close();
-			socket.close();
 			thread.interrupt();
+			selector.wakeup();
 			thread.join();
+			for(var key: selector.keys())
+				((ClientHandler) key.attachment()).close();
+			ClientHandler client;
+			while((client = pending.poll()) != null)
+				client.close();
+			selector.close();
 		}
 
-		public void listener() {
-			while(!Thread.interrupted() && socket.isConnected()) {
-				try {
-					Object obj = input.readObject();
-					if(obj instanceof Request request)
-						requests.get(socket.getInetAddress())
-								.add(request);
-					else if(obj instanceof Response response)
-						responses.get(socket.getInetAddress())
-								 .add(response);
-				} catch(IOException | ClassNotFoundException ignored) {}
-				Thread.onSpinWait();
+		/**
+		 * Close the connections which did not send their hello in time
+		 *
+		 * @return the time until the next deadline, 0 if there is none
+		 */
+		private long expireHandshakes() {
+			long now = System.currentTimeMillis();
+			ClientHandler client;
+			while((client = handshaking.peek()) != null) {
+				if(!client.isHandshaking()) handshaking.poll();
+				else if(client.deadline <= now) {
+					handshaking.poll();
+					timedOut.incrementAndGet();
+					client.close();
+				} else return client.deadline - now;
 			}
+			return 0;
 		}
 
 		/**
-		 * Send a request to the client
+		 * Close the joined connections which stayed silent and ping the
+		 * others, once per heartbeat
 		 *
-		 * @param response the request to send
+		 * @return the time until the next heartbeat in milliseconds
 		 */
-		private void send(Response response) {
-			synchronized(lock) {
+		private long heartbeat() {
+			long now = System.currentTimeMillis();
+			if(now < nextBeat) return nextBeat - now;
+			nextBeat = now + heartbeat;
+			ByteBuffer ping = null;
+			for(var key: selector.keys()) {
+				var client = (ClientHandler) key.attachment();
+				if(client.session < 0) continue;
+				if(now - client.lastRead > idleTimeout) {
+					reaped.incrementAndGet();
+					client.close();
+					continue;
+				}
 				try {
-					output.writeObject(response);
+					// encoded once per heartbeat and shared by the connections
+					if(ping == null)
+						ping = Codec.encodeShared(Request.ping(System.nanoTime()));
+					client.queue(ping.duplicate(), ping);
 				} catch(IOException ignored) {}
 			}
+			return heartbeat;
 		}
 
 		/**
-		 * Send a request to the client
+		 * Queue the held player states which the rate limits allow again
 		 *
-		 * @param request the request to send
+		 * @return the time until the next one is allowed in milliseconds, 0
+		 * if none is held
 		 */
-		private void send(Request request) {
-			synchronized(lock) {
+		private long releaseHeld() {
+			long now = System.nanoTime();
+			long next = Long.MAX_VALUE;
+			for(var it = holding.iterator(); it.hasNext(); ) {
+				long delay = it.next().releaseHeld(now);
+				if(delay == 0) it.remove();
+				else next = Math.min(next, delay);
+			}
+			if(next == Long.MAX_VALUE) return 0;
+			return Math.max(TimeUnit.NANOSECONDS.toMillis(next), 1);
+		}
+
+		private void run() {
+			while(!Thread.interrupted()) {
 				try {
-					output.writeObject(request);
-					output.flush();
+					long timeout = heartbeat();
+					long handshake = expireHandshakes();
+					if(handshake > 0) timeout = Math.min(timeout, handshake);
+					long held = releaseHeld();
+					if(held > 0) timeout = Math.min(timeout, held);
+					selector.select(timeout);
+					ClientHandler client;
+					while((client = pending.poll()) != null) {
+						client.register(selector);
+						handshaking.add(client);
+					}
+					for(var key: selector.selectedKeys()) {
+						var handler = (ClientHandler) key.attachment();
+						try {
+							if(key.isValid() && key.isReadable())
+								handler.read();
+							if(key.isValid() && key.isWritable())
+								handler.write();
+						} catch(IOException | CancelledKeyException e) {
+							handler.close();
+						}
+					}
+					selector.selectedKeys().clear();
 				} catch(IOException ignored) {}
 			}
 		}
+	}
+
+	/**
+	 * A handler for a client connection, which decodes the requests and
+	 * responses read by its event loop and queues the messages to write
+	 */
+	public class ClientHandler {
+		private final SocketChannel channel;
+		/**
+		 * The session of this client, -1 until its handshake is done
+		 */
+		private volatile long session;
+		/**
+		 * The time before which the hello must be received
+		 */
+		private final long deadline;
+		/**
+		 * Whether this connection still counts as a pending handshake
+		 */
+		private final AtomicBoolean handshaking;
+		private final EventLoop loop;
+		/**
+		 * The requests received and not yet handled by the responder
+		 */
+		private final BoundedQueue<Request> requests;
+		/**
+		 * The last state pushed by the player of this client
+		 *
+		 * @see #updatePlayer(long, PlayerModel)
+		 */
+		private volatile PlayerModel player;
+		/**
+		 * Whether the lobby is pushed to this client when it changes
+		 *
+		 * @see #subscribe(long)
+		 */
+		private volatile boolean subscribed;
+		/**
+		 * The bytes read and not yet decoded, in write mode
+		 */
+		private ByteBuffer input;
+		/**
+		 * The frames queued by the senders and not yet taken by the event loop
+		 */
+		private final BoundedQueue<Frame> outbound;
+		/**
+		 * The frames taken by the event loop and not yet entirely written,
+		 * only used by the event loop
+		 */
+		private final ByteBuffer[] gather;
+		private int gathered;
+		/**
+		 * Whether the event loop is asked to write, set by the sender which
+		 * queues the first frame and cleared once everything is written
+		 */
+		private final AtomicBoolean writing;
+		private volatile SelectionKey key;
+		/**
+		 * The number of bytes read since the read buffer was last shrunk
+		 * back, only used by the event loop
+		 */
+		private long handled;
+		/**
+		 * The token buckets of the requests by type, only used by the event
+		 * loop
+		 */
+		private final long[] buckets;
+		private final AtomicLong limitedRequests = new AtomicLong();
+		/**
+		 * The player state and the merged deltas over the rate limit, queued
+		 * in this order once the limit allows it, only used by the event loop
+		 */
+		private Request.PlayerStateRequest heldState;
+		private PlayerDelta heldDelta;
+		/**
+		 * The time of the last read, only used by the event loop
+		 */
+		private long lastRead;
+		/**
+		 * The last round trip time measured with a ping, -1 until the first
+		 * pong
+		 */
+		private volatile long roundTripTime = -1;
+
+		private ClientHandler(SocketChannel channel, EventLoop loop)
+		throws IOException {
+			this.channel = channel;
+			this.session = -1;
+			this.deadline = System.currentTimeMillis() + handshakeTimeout;
+			this.handshaking = new AtomicBoolean(true);
+			this.loop = loop;
+			this.requests = new BoundedQueue<>(MAX_REQUESTS, Overflow.Disconnect);
+			this.input = ByteBuffer.allocate(BUFFER_SIZE);
+			this.outbound = new BoundedQueue<>(
+					MAX_OUTBOUND,
+					frame -> Overflow.of(Codec.peekType(frame.buffer())),
+					frame -> BufferPool.release(frame.buffer())
+			);
+			this.gather = new ByteBuffer[MAX_GATHER];
+			this.gathered = 0;
+			this.writing = new AtomicBoolean(false);
+			this.buckets = limiter.newBuckets(System.nanoTime());
+			this.lastRead = System.currentTimeMillis();
+			this.channel.configureBlocking(false);
+			this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			loop.register(this);
+		}
+
+		private void register(Selector selector) throws ClosedChannelException {
+			key = channel.register(selector, SelectionKey.OP_READ, this);
+			// a frame queued before the registration is written right away
+			if(writing.get())
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+
+		private void stop() {
+			close();
+		}
+
+		private boolean isHandshaking() {
+			return handshaking.get();
+		}
+
+		private void endHandshake() {
+			if(handshaking.compareAndSet(true, false))
+				handshakes.decrementAndGet();
+		}
+
+		/**
+		 * Complete the handshake of this client with its hello, give it a
+		 * session and add it to the connected clients
+		 *
+		 * @param obj the first message of the client
+		 * @throws IOException if the message is not a valid hello
+		 */
+		private void handshake(Object obj) throws IOException {
+			if(!(obj instanceof Request.HelloRequest hello) ||
+					hello.getVersion() != PROTOCOL_VERSION) {
+				refused.incrementAndGet();
+				throw new IOException("Invalid hello: " + obj);
+			}
+			endHandshake();
+			session = sessions.incrementAndGet();
+			// the session is the first message the client receives
+			send(this, Request.session(session));
+			clients.put(session, this);
+			tableChanged();
+			joined.incrementAndGet();
+		}
+
+		private void close() {
+			endHandshake();
+			if(clients.remove(session, this)) {
+				tableChanged();
+				// a player who left can no longer win the match, on the
+				// executor as it may push the end of the match
+				long session = this.session;
+				try {
+					executor.execute(() -> eliminate(session));
+				} catch(RejectedExecutionException ignored) {}
+			}
+			if(key != null) key.cancel();
+			try {
+				channel.close();
+			} catch(IOException ignored) {}
+			var frames = new ArrayList<Frame>();
+			outbound.drainTo(frames);
+			frames.forEach(frame -> BufferPool.release(frame.buffer()));
+		}
+
+		/**
+		 * Read the available bytes and handle every complete frame
+		 *
+		 * @throws IOException if the connection is closed or broken
+		 */
+		private void read() throws IOException {
+			int read = channel.read(input);
+			if(read < 0)
+				throw new ClosedChannelException();
+			lastRead = System.currentTimeMillis();
+			handled += read;
+			input.flip();
+			int length;
+			while((length = Codec.peekLength(input)) >= 0) {
+				int header = Codec.varintSize(length);
+				if(input.remaining() < header + length) {
+					if(input.capacity() < header + length) {
+						var larger = ByteBuffer.allocate(header + length);
+						input = larger.put(input).flip();
+					}
+					break;
+				}
+				var payload = input.slice(input.position() + header, length);
+				input.position(input.position() + header + length);
+				handle(Codec.decode(payload));
+			}
+			input.compact();
+			resetBuffers();
+		}
+
+		private void handle(Object obj) throws IOException {
+			if(session < 0) {
+				handshake(obj);
+				return;
+			}
+			// the server sends no request which awaits a response
+			if(obj instanceof Request request) {
+				Type type = request.getType();
+				boolean state = type == Type.PlayerState || type == Type.PlayerDelta;
+				// a state behind a held one is merged into it, in order
+				if(state && (heldState != null || heldDelta != null)) {
+					hold(request);
+					return;
+				}
+				if(!limiter.tryAcquire(buckets, type, System.nanoTime())) {
+					limitedRequests.incrementAndGet();
+					limited.incrementAndGet();
+					// a lost delta would leave the table wrong for good and
+					// a call would wait for its timeout
+					if(state) hold(request);
+					else if(request.getId() != 0)
+						reply(this, Response.error(type + " rate limited"), request);
+					return;
+				}
+				// answered by the event loop, a pong waiting behind other
+				// requests would not measure the network
+				if(request instanceof Request.HeartbeatRequest pong &&
+						pong.getType() == Type.Pong) {
+					roundTripTime = System.nanoTime() - pong.getTime();
+					return;
+				}
+				enqueue(request);
+			}
+		}
+
+		private void enqueue(Request request) throws IOException {
+			request.setOrigin(session);
+			if(!requests.offer(request))
+				throw new IOException("Too many pending requests");
+			ready.add(this);
+		}
+
+		/**
+		 * Hold a player state or delta over the rate limit, a state replaces
+		 * everything held and a delta is merged into the held one
+		 *
+		 * @param request the player state or delta
+		 */
+		private void hold(Request request) {
+			if(heldState == null && heldDelta == null) loop.holding.add(this);
+			if(request instanceof Request.PlayerStateRequest state) {
+				heldState = state;
+				heldDelta = null;
+			} else if(request instanceof Request.PlayerDeltaRequest delta)
+				heldDelta = heldDelta == null
+						? delta.getDelta()
+						: heldDelta.merge(delta.getDelta());
+		}
+
+		/**
+		 * Queue the held state, then the held delta, as the rate limits allow
+		 *
+		 * @param now the current time in nanoseconds
+		 * @return the time until the rest can be queued in nanoseconds, 0 if
+		 * nothing is held anymore
+		 */
+		private long releaseHeld(long now) {
+			try {
+				if(!channel.isOpen()) {
+					heldState = null;
+					heldDelta = null;
+				}
+				if(heldState != null) {
+					if(!limiter.tryAcquire(buckets, Type.PlayerState, now))
+						return Math.max(limiter.delay(buckets, Type.PlayerState, now), 1);
+					enqueue(heldState);
+					heldState = null;
+				}
+				if(heldDelta != null) {
+					if(!limiter.tryAcquire(buckets, Type.PlayerDelta, now))
+						return Math.max(limiter.delay(buckets, Type.PlayerDelta, now), 1);
+					enqueue(Request.playerDelta(heldDelta));
+					heldDelta = null;
+				}
+			} catch(IOException e) {
+				close();
+			}
+			return 0;
+		}
+
+		/**
+		 * Write the queued frames with gathering writes, as many as the
+		 * connection accepts
+		 *
+		 * @throws IOException if the connection is closed or broken
+		 */
+		private void write() throws IOException {
+			while(true) {
+				Frame frame;
+				while(gathered < gather.length && (frame = outbound.poll()) != null)
+					gather[gathered++] = frame.buffer();
+				if(gathered == 0) {
+					key.interestOps(SelectionKey.OP_READ);
+					writing.set(false);
+					// a frame queued while the flag was still set
+					if(outbound.isEmpty() || !writing.compareAndSet(false, true))
+						return;
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					continue;
+				}
+				channel.write(gather, 0, gathered);
+				int written = 0;
+				while(written < gathered && !gather[written].hasRemaining())
+					BufferPool.release(gather[written++]);
+				System.arraycopy(gather, written, gather, 0, gathered - written);
+				Arrays.fill(gather, gathered - written, gathered, null);
+				gathered -= written;
+				// the socket buffer is full, wait until it is writable again
+				if(gathered > 0) return;
+			}
+		}
+
+		/**
+		 * Shrink back the empty read buffer grown by a large message, once
+		 * the connection read enough bytes since the last reset
+		 */
+		private void resetBuffers() {
+			if(handled < bufferReset) return;
+			handled = 0;
+			if(input.position() == 0 && input.capacity() > BUFFER_SIZE) {
+				input = ByteBuffer.allocate(BUFFER_SIZE);
+				bufferResets.incrementAndGet();
+			}
+		}
+
+		/**
+		 * Get the capacity of the read buffer and of the frames owned by the
+		 * connection, the frames shared with other connections are added to
+		 * a set instead so the server counts them once
+		 *
+		 * @param shared the frames shared by the connections, by identity
+		 * @return the number of bytes owned by the connection
+		 */
+		private long getRetainedBytes(Set<ByteBuffer> shared) {
+			var bytes = new AtomicLong(input.capacity());
+			outbound.forEach(frame -> {
+				if(frame.shared() != null) shared.add(frame.shared());
+				else bytes.addAndGet(frame.buffer().capacity());
+			});
+			return bytes.get();
+		}
+
+		/**
+		 * Queue a frame and ask the event loop to write it, the frame may be
+		 * a view over bytes shared with other connections. The connection is
+		 * closed if its queue is full and the frame cannot take the room of
+		 * a droppable one, the caller never waits.
+		 *
+		 * @param frame the frame
+		 */
+		private void queue(ByteBuffer frame) {
+			queue(frame, null);
+		}
+
+		/**
+		 * Queue a view over a frame shared with other connections
+		 *
+		 * @param frame  the view of this connection
+		 * @param shared the shared frame, or null if the frame is owned
+		 * @see Codec#encodeShared(Object)
+		 */
+		private void queue(ByteBuffer frame, ByteBuffer shared) {
+			if(!outbound.offer(new Frame(frame, shared))) {
+				BufferPool.release(frame);
+				close();
+				return;
+			}
+			if(writing.compareAndSet(false, true)) {
+				var key = this.key;
+				try {
+					if(key != null && key.isValid()) {
+						key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+						loop.selector.wakeup();
+					}
+				} catch(CancelledKeyException ignored) {}
+			}
+		}
+
+		/**
+		 * Get the counters of the requests received from this client and
+		 * waiting for the responder
+		 *
+		 * @return the counters
+		 */
+		public QueueStats getInboundStats() {
+			return requests.getStats();
+		}
+
+		/**
+		 * Get the last round trip time measured with this client
+		 *
+		 * @return the time in nanoseconds, or -1 if no ping was answered yet
+		 */
+		public long getRoundTripTime() {
+			return roundTripTime;
+		}
+
+		/**
+		 * Get the number of requests of this client dropped by the rate limits
+		 *
+		 * @return the number of requests
+		 * @see #setRateLimit(Type, int, int)
+		 */
+		public long getLimitedRequests() {
+			return limitedRequests.get();
+		}
+
+		/**
+		 * Get the counters of the frames queued to this client
+		 *
+		 * @return the counters
+		 */
+		public QueueStats getOutboundStats() {
+			return outbound.getStats();
+		}
+
+		/**
+		 * Get the session id of this client
+		 *
+		 * @return the session id
+		 */
+		public long getSession() {
+			return session;
+		}
 
 		/**
-		 * Return if the address is equal to the address of this client
+		 * Return if the session is the session of this client
 		 *
-		 * @param address the address to compare
-		 * @return if the address is equal to the address of this client
+		 * @param session the session to compare
+		 * @return if the session is the session of this client
 		 */
-		public boolean isAddress(InetAddress address) {
-			return socket.getInetAddress().equals(address);
+		public boolean isSession(long session) {
+			return this.session == session;
 		}
 
 		/**
-		 * Return if the address is not equal to the address of this client
+		 * Return if the session is not the session of this client
 		 *
-		 * @param address the address to compare
-		 * @return if the address is not equal to the address of this client
+		 * @param session the session to compare
+		 * @return if the session is not the session of this client
 		 */
-		public boolean isNotAddress(InetAddress address) {
-			return !isAddress(address);
+		public boolean isNotSession(long session) {
+			return !isSession(session);
 		}
 	}
 }
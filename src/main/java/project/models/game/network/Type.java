@@ -23,6 +23,50 @@ public enum Type {
 	/**
 	 * A message indicating that the game has started.
 	 */
-	GameStart
+	GameStart,
+	/**
+	 * A message indicating that the player of the sender has no lives left.
+	 */
+	Eliminated,
+	/**
+	 * A message indicating that less than two players are still alive.
+	 */
+	MatchOver,
+	/**
+	 * A message giving a client its session id on the server.
+	 */
+	Session,
+	/**
+	 * A message opening the handshake of a client with the server.
+	 */
+	Hello,
+	/**
+	 * A message containing the state of the player of the sender.
+	 */
+	PlayerState,
+	/**
+	 * A message containing the fields of a player which changed.
+	 */
+	PlayerDelta,
+	/**
+	 * A message registering the interest of a client in the lobby.
+	 */
+	Subscribe,
+	/**
+	 * A message containing a snapshot of the players of the lobby.
+	 */
+	Lobby,
+	/**
+	 * A message checking that the peer is alive, answered with a Pong.
+	 */
+	Ping,
+	/**
+	 * A message answering a Ping.
+	 */
+	Pong,
+	/**
+	 * A message refusing a request, with the reason.
+	 */
+	Error
 }
 
@@ -57,6 +57,37 @@ public class MenuModel extends Model implements Serializable, Cloneable {
 		host = port = playerName = "";
 	}
 
+	/**
+	 * Create a menu model from its state, without notifying the controller
+	 * as the setters do, used to decode a configuration received from
+	 * the network
+	 *
+	 * @param gameMode      the game mode
+	 * @param host          the host
+	 * @param port          the port
+	 * @param playersNumber the number of players
+	 * @param lives         the initial lives value
+	 * @param nbWord        the number of words
+	 * @param playerName    the player's name
+	 */
+	public MenuModel(
+			GameMode gameMode,
+			String host,
+			String port,
+			int playersNumber,
+			int lives,
+			int nbWord,
+			String playerName
+	) {
+		this.gameMode = gameMode;
+		this.host = host;
+		this.port = port;
+		this.playersNumber = playersNumber;
+		this.lives = lives;
+		this.nbWord = nbWord;
+		this.playerName = playerName;
+	}
+
 	public GameMode getGameMode() {
 		return gameMode;
 	}
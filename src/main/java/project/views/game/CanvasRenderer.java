@@ -0,0 +1,172 @@
+package project.views.game;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import project.models.game.words.Word;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders the words on a {@link Canvas}. The glyph advances are measured once,
+ * the layout is only computed when the words change and a change of the input
+ * only repaints the rectangle of the current word.
+ */
+final class CanvasRenderer extends WordsRenderer {
+	private static final double PADDING = 10;
+	private final Pane pane;
+	private final Canvas canvas;
+	private final GraphicsContext graphics;
+	private final Font font;
+	/**
+	 * Advances of the ASCII characters
+	 */
+	private final double[] advances;
+	/**
+	 * Advances of the other characters, measured when first drawn
+	 */
+	private final Map<Character, Double> otherAdvances;
+	private final double lineHeight;
+	/**
+	 * Position and width of every visible word, computed by {@link #layout()}
+	 */
+	private double[] xs, ys, widths;
+	/**
+	 * Number of words which fit on the canvas
+	 */
+	private int visible;
+
+	CanvasRenderer() {
+		this.font = Font.font(3 * Font.getDefault().getSize());
+		this.advances = new double[128];
+		this.otherAdvances = new HashMap<>();
+		for(char c = 0; c < advances.length; c++)
+			advances[c] = measure(String.valueOf(c));
+		this.lineHeight = measureHeight();
+		this.xs = this.ys = this.widths = new double[0];
+
+		this.canvas = new Canvas();
+		this.graphics = canvas.getGraphicsContext2D();
+		this.graphics.setFont(font);
+		this.graphics.setTextBaseline(VPos.TOP);
+		this.pane = new Pane(canvas);
+		this.pane.widthProperty().addListener((observable, oldValue, newValue) -> {
+			canvas.setWidth(newValue.doubleValue());
+			renderWords();
+		});
+		this.pane.heightProperty().addListener((observable, oldValue, newValue) -> {
+			canvas.setHeight(newValue.doubleValue());
+			renderWords();
+		});
+	}
+
+	private double measure(String s) {
+		Text text = new Text(s);
+		text.setFont(font);
+		return text.getLayoutBounds().getWidth();
+	}
+
+	private double measureHeight() {
+		Text text = new Text("Xg");
+		text.setFont(font);
+		return text.getLayoutBounds().getHeight();
+	}
+
+	private double advance(char c) {
+		if(c < advances.length) return advances[c];
+		return otherAdvances.computeIfAbsent(c, k -> measure(String.valueOf(k)));
+	}
+
+	private double advance(String s, int from, int to) {
+		double width = 0;
+		for(int i = from; i < to; i++)
+			width += advance(s.charAt(i));
+		return width;
+	}
+
+	@Override Region getNode() {
+		return pane;
+	}
+
+	@Override double getCharWidth() {
+		return advance("abcdefghijklmnopqrstuvwxyz", 0, 26) / 26;
+	}
+
+	/**
+	 * Compute the position of every word which fits on the canvas
+	 */
+	private void layout() {
+		if(xs.length < words.size()) {
+			xs = new double[words.size()];
+			ys = new double[words.size()];
+			widths = new double[words.size()];
+		}
+		double space = advance(' ');
+		double right = canvas.getWidth() - PADDING;
+		double bottom = canvas.getHeight() - PADDING;
+		double x = PADDING, y = PADDING;
+		visible = 0;
+		for(Word word: words) {
+			double width = advance(word.content(), 0, word.length());
+			if(x > PADDING && x + width > right) {
+				x = PADDING;
+				y += lineHeight;
+			}
+			if(y + lineHeight > bottom) break;
+			xs[visible] = x;
+			ys[visible] = y;
+			widths[visible] = width;
+			visible++;
+			x += width + space;
+		}
+	}
+
+	@Override protected void renderWords() {
+		layout();
+		graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+		for(int i = 0; i < visible; i++)
+			paintWord(i);
+	}
+
+	@Override protected void renderInput() {
+		if(visible == 0) return;
+		// only the rectangle of the current word is repainted
+		graphics.clearRect(xs[0], ys[0], widths[0], lineHeight);
+		paintWord(0);
+	}
+
+	private void paintWord(int index) {
+		Word word = words.get(index);
+		if(index != 0) {
+			graphics.setFill(
+					word.isBonus() ? Color.BLUE
+							: word.isMalus() ? Color.RED : Color.GREY
+			);
+			graphics.fillText(word.content(), xs[index], ys[index]);
+			return;
+		}
+
+		String content = word.content();
+		int length = Math.min(input.length(), content.length());
+		if(length > 0) {
+			graphics.setFill(
+					content.startsWith(input) ? Color.GREEN : Color.RED
+			);
+			graphics.fillText(content.substring(0, length), xs[0], ys[0]);
+		}
+		if(length < content.length()) {
+			graphics.setFill(Color.GREY);
+			graphics.fillText(
+					content.substring(length),
+					xs[0] + advance(content, 0, length),
+					ys[0]
+			);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package project.views.game;
+
+import project.models.game.words.Word;
+
+import java.util.List;
+
+/**
+ * An immutable state of a game, as published to the renderers once per pulse
+ *
+ * @param version the version of the game state, incremented on each change
+ * @param words   the visible words, starting with the current word, the same
+ *                list instance is reused as long as the words do not change
+ * @param input   the input of the player on the current word
+ */
+record GameSnapshot(long version, List<Word> words, String input) {}
@@ -1,11 +1,9 @@
 package project.views.game;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.beans.property.ListProperty;
-import javafx.beans.property.SimpleListProperty;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.MenuBar;
@@ -19,29 +17,72 @@ import project.models.game.GameModel;
 import project.models.game.words.Word;
 import project.views.View;
 
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GameView extends Application implements View {
+	/**
+	 * Above this number of words, only the lines around the current word
+	 * are rendered
+	 */
+	private static final int VIEWPORT_WORDS = 100;
+	/**
+	 * Number of lines rendered in viewport mode, the current line and the
+	 * lookahead
+	 */
+	private static final int VIEWPORT_LINES = 6;
+	/**
+	 * Number of columns of the viewport until the display text is laid out
+	 */
+	private static final int VIEWPORT_COLUMNS = 40;
 	private final GameModel gameModel;
+	private final WordsViewport viewport;
+	private final WordsRenderer renderer;
+	/**
+	 * Incremented on each notification of the model, read once per pulse
+	 */
+	private final AtomicLong version;
+	/**
+	 * Incremented when the list of words of the model changes
+	 */
+	private final AtomicLong wordsVersion;
+	/**
+	 * Render the latest state of the game once per pulse, if it changed
+	 */
+	private final AnimationTimer loop;
+	/**
+	 * The last rendered snapshot
+	 */
+	private GameSnapshot snapshot;
+	private long renderedWordsVersion;
 	private final StyleClassedTextArea inputText;
-	private final StyleClassedTextArea displayText;
-	private final ListProperty<Word> wordsList;
 	private final SimpleStringProperty textOfInput;
 	private final double width = 900;
 	private final double height = 600;
 	private Stage stage;
 	private BorderPane root;
 
-	public GameView(GameModel gameModel) {
+	public GameView(GameModel gameModel, Renderer renderer) {
 		this.gameModel = gameModel;
 		this.inputText = new StyleClassedTextArea();
-		this.displayText = new StyleClassedTextArea();
-		this.wordsList = new SimpleListProperty<>(FXCollections.observableArrayList());
+		this.renderer = renderer.create();
 		this.textOfInput = new SimpleStringProperty();
+		this.viewport = gameModel.getNbWords() > VIEWPORT_WORDS ?
+				new WordsViewport(VIEWPORT_COLUMNS, VIEWPORT_LINES)
+				: WordsViewport.unbounded();
+		this.version = new AtomicLong();
+		this.wordsVersion = new AtomicLong();
+		this.snapshot = new GameSnapshot(-1, List.of(), "");
+		this.renderedWordsVersion = -1;
+		this.loop = new AnimationTimer() {
+			@Override public void handle(long now) {
+				render();
+			}
+		};
 	}
 
 	/**
-	 * Start function of the Game Gui, initiate the text area to display
+	 * Start function of the Game Gui, initiate the words display
 	 * and the input text area.
 	 * Handle the characters inputted by the player.
 	 *
@@ -51,26 +92,22 @@ public class GameView extends Application implements View {
 	@Override public void start(Stage primaryStage) throws Exception {
 		this.stage = primaryStage;
 		this.root = new BorderPane();
+		Region displayText = renderer.getNode();
 
 		MenuBar menuBar = initMenuBar();
 
-		// font of the texts
-		displayText.setStyle("-fx-font-size: 3em");
+		// font of the input
 		inputText.setStyle("-fx-font-size: 3em");
 
-		// wrap the texts, so they go back to line at the end of the text area
-		displayText.setWrapText(true);
+		// wrap the input, so it goes back to line at the end of the text area
 		inputText.setWrapText(true);
 
-		displayText.setEditable(false);
-
-		// add a listener on the list of words to update the display text area
-		wordsList.addListener((observable, oldValue, newValue) -> {
-			if(newValue.size() != 0) {
-				displayText.replaceText(wordsList.stream()
-												 .map(Word::toString)
-												 .collect(Collectors.joining(" ")));
-				update();
+		// lay the viewport out again when the display is resized
+		double charWidth = renderer.getCharWidth();
+		displayText.widthProperty().addListener((observable, oldValue, newValue) -> {
+			if(charWidth > 0) {
+				viewport.setColumns((int) (newValue.doubleValue() / charWidth));
+				updateWords();
 			}
 		});
 
@@ -78,7 +115,7 @@ public class GameView extends Application implements View {
 		inputText.setOnKeyPressed(event -> GameController.getInstance()
 														 .handle(event));
 
-		// set the textareas/menubar on the root pane
+		// set the display/input/menubar on the root pane
 		this.root.setTop(menuBar);
 		this.root.setCenter(displayText);
 		if(NetworkController.getInstance().isRunning())
@@ -102,7 +139,7 @@ public class GameView extends Application implements View {
 
 		// first initilization of the words list and color the text in gray
 		updateWords();
-		Platform.runLater(this::update);
+		loop.start();
 
 		Scene scene = new Scene(root, this.width, this.height);
 		try {
@@ -118,49 +155,12 @@ public class GameView extends Application implements View {
 	}
 
 	/**
-	 * Color the entire display text in grey and special words
-	 */
-	private void colorNewText() {
-		int size = wordsList.stream().mapToInt(s -> s.length() + 1).sum();
-		if(size > 0) {
-			displayText.setStyleClass(0, size - 1, "grey");
-			colorBonusMalus();
-		}
-	}
-
-	/**
-	 * Colors bonus and malus words
-	 */
-	private void colorBonusMalus() {
-		int length = 0, count = 0;
-		for(Word word: wordsList) {
-			if(count != 0) {
-				if(word.isBonus()) {
-					displayText.setStyleClass(
-							length,
-							length + word.length(),
-							"blue"
-					);
-				}
-				if(word.isMalus()) {
-					displayText.setStyleClass(
-							length,
-							length + word.length(),
-							"red"
-					);
-				}
-			}
-			count++;
-			length += word.length() + 1;
-		}
-	}
-
-	/**
-	 * Update the list of words from the model list of words
+	 * Indicate that the list of words of the model changed, the visible part
+	 * is laid out again on the next pulse
 	 */
 	public void updateWords() {
-		wordsList.clear();
-		gameModel.getWordsIterator().forEachRemaining(wordsList::add);
+		wordsVersion.incrementAndGet();
+		version.incrementAndGet();
 	}
 
 	/**
@@ -171,42 +171,59 @@ public class GameView extends Application implements View {
 	}
 
 	/**
-	 * Update every aspect of the view
+	 * Take a snapshot of the game and render it if it changed since the last
+	 * pulse, however many notifications happened in between
 	 */
-	private void updateRunnable() {
-		if(gameModel.getWords().getCurrentWord() == null) {
-			displayText.replaceText("");
-			return;
-		}
-		colorNewText();
-		String inputWord = gameModel.getInputWord();
-		String currentWord = gameModel.getWords().getCurrentWord().content();
-
-		if(inputWord.isEmpty()) {
-			displayText.setStyleClass(0, currentWord.length(), "grey");
-			return;
-		}
-
-		int length = Math.min(inputWord.length(), currentWord.length());
-		displayText.setStyleClass(
-				0,
-				length,
-				currentWord.startsWith(inputWord) ? "green" : "red"
-		);
-		if(length < currentWord.length()) {
-			displayText.setStyleClass(length, currentWord.length(), "grey");
+	private void render() {
+		long current = version.get();
+		if(current == snapshot.version()) return;
+
+		List<Word> words = snapshot.words();
+		long currentWords = wordsVersion.get();
+		if(currentWords != renderedWordsVersion) {
+			viewport.layout(gameModel.getWordsIterator());
+			words = List.copyOf(viewport.getWords());
+			renderedWordsVersion = currentWords;
 		}
+		snapshot = new GameSnapshot(current, words, gameModel.getInputWord());
+		renderer.render(snapshot);
 	}
 
 	/**
-	 * Update the GameView
+	 * Update the GameView, the change is rendered on the next pulse
 	 */
 	@Override public void update() {
-		Platform.runLater(this::updateRunnable);
+		version.incrementAndGet();
 	}
 
 	@Override public void setVisible(boolean visible) {
-		if(visible) stage.show();
-		else stage.hide();
+		if(visible) {
+			stage.show();
+			loop.start();
+		} else {
+			loop.stop();
+			stage.hide();
+		}
+	}
+
+	/**
+	 * The renderers which can draw the words of a game
+	 */
+	public enum Renderer {
+		/**
+		 * A rich text area colored with the stylesheet
+		 */
+		TextArea,
+		/**
+		 * A canvas repainted at most once per pulse
+		 */
+		Canvas;
+
+		private WordsRenderer create() {
+			return switch(this) {
+				case TextArea -> new TextAreaRenderer();
+				case Canvas -> new CanvasRenderer();
+			};
+		}
 	}
 }
@@ -1,6 +1,7 @@
 package project.views.game;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -81,8 +82,15 @@ public class StatsView extends Application implements View {
 				return;
 			}
 			try {
-				MenuController.getInstance().startGame();
-				stage.hide();
+				// the failures of the network come back wrapped
+				MenuController.getInstance()
+							  .startGame()
+							  .whenCompleteAsync((v, e) -> {
+								  if(e != null)
+									  error.setText(e.getCause().getMessage());
+								  else
+									  stage.hide();
+							  }, Platform::runLater);
 			} catch(Exception e) {
 				error.setText(e.getMessage());
 			}
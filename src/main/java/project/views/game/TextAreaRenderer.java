@@ -0,0 +1,107 @@
+package project.views.game;
+
+import javafx.scene.layout.Region;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import org.fxmisc.richtext.StyleClassedTextArea;
+import project.models.game.words.Word;
+
+import java.util.stream.Collectors;
+
+/**
+ * Renders the words in a {@link StyleClassedTextArea} colored with the style
+ * classes of the stylesheet
+ */
+final class TextAreaRenderer extends WordsRenderer {
+	private final StyleClassedTextArea displayText;
+
+	TextAreaRenderer() {
+		this.displayText = new StyleClassedTextArea();
+
+		// font of the text
+		displayText.setStyle("-fx-font-size: 3em");
+		// wrap the text, so it goes back to line at the end of the text area
+		displayText.setWrapText(true);
+		displayText.setEditable(false);
+	}
+
+	@Override Region getNode() {
+		return displayText;
+	}
+
+	@Override double getCharWidth() {
+		String alphabet = "abcdefghijklmnopqrstuvwxyz";
+		Text text = new Text(alphabet);
+		text.setFont(Font.font(3 * Font.getDefault().getSize()));
+		return text.getLayoutBounds().getWidth() / alphabet.length();
+	}
+
+	@Override protected void renderWords() {
+		displayText.replaceText(words.stream()
+									 .map(Word::toString)
+									 .collect(Collectors.joining(" ")));
+		renderInput();
+	}
+
+	@Override protected void renderInput() {
+		if(words.isEmpty()) {
+			displayText.replaceText("");
+			return;
+		}
+		colorNewText();
+		String currentWord = words.get(0).content();
+
+		if(input.isEmpty()) {
+			displayText.setStyleClass(0, currentWord.length(), "grey");
+			return;
+		}
+
+		int length = Math.min(input.length(), currentWord.length());
+		displayText.setStyleClass(
+				0,
+				length,
+				currentWord.startsWith(input) ? "green" : "red"
+		);
+		if(length < currentWord.length()) {
+			displayText.setStyleClass(length, currentWord.length(), "grey");
+		}
+	}
+
+	/**
+	 * Color the entire display text in grey and special words
+	 */
+	private void colorNewText() {
+		int size = words.stream().mapToInt(s -> s.length() + 1).sum();
+		if(size > 0) {
+			displayText.setStyleClass(0, size - 1, "grey");
+			colorBonusMalus();
+		}
+	}
+
+	/**
+	 * Colors bonus and malus words
+	 */
+	private void colorBonusMalus() {
+		int length = 0, count = 0;
+		for(Word word: words) {
+			if(count != 0) {
+				if(word.isBonus()) {
+					displayText.setStyleClass(
+							length,
+							length + word.length(),
+							"blue"
+					);
+				}
+				if(word.isMalus()) {
+					displayText.setStyleClass(
+							length,
+							length + word.length(),
+							"red"
+					);
+				}
+			}
+			count++;
+			length += word.length() + 1;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package project.views.game;
+
+import javafx.scene.layout.Region;
+import project.models.game.words.Word;
+
+import java.util.List;
+
+/**
+ * Draws the visible words of a game and the input of the player on the
+ * current word. Every method must be called on the JavaFX thread.
+ */
+sealed abstract class WordsRenderer permits TextAreaRenderer, CanvasRenderer {
+	/**
+	 * The visible words of the last rendered snapshot, starting with the
+	 * current word
+	 */
+	protected List<Word> words = List.of();
+	/**
+	 * The input of the player of the last rendered snapshot
+	 */
+	protected String input = "";
+
+	/**
+	 * Get the node on which the words are drawn
+	 *
+	 * @return the node
+	 */
+	abstract Region getNode();
+
+	/**
+	 * Get the average width of a character, used to lay out the viewport
+	 *
+	 * @return the width of a character in pixels
+	 */
+	abstract double getCharWidth();
+
+	/**
+	 * Render a snapshot of the game, only what changed since the last
+	 * rendered snapshot is drawn again
+	 *
+	 * @param snapshot the snapshot
+	 */
+	final void render(GameSnapshot snapshot) {
+		boolean wordsChanged = snapshot.words() != words;
+		boolean inputChanged = !snapshot.input().equals(input);
+		words = snapshot.words();
+		input = snapshot.input();
+		if(wordsChanged) renderWords();
+		else if(inputChanged) renderInput();
+	}
+
+	/**
+	 * Draw every visible word and the input
+	 */
+	protected abstract void renderWords();
+
+	/**
+	 * Draw the input of the player on the current word
+	 */
+	protected abstract void renderInput();
+}
@@ -0,0 +1,100 @@
+package project.views.game;
+
+import project.models.game.words.Word;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A window over the head of a queue of words, laid out in lines of a fixed
+ * number of columns. Only the words of the visible lines are ever copied,
+ * so the cost of a layout does not depend on the length of the queue.
+ */
+final class WordsViewport {
+	/**
+	 * The words of the visible lines
+	 *
+	 * @see #getWords()
+	 */
+	private final List<Word> words;
+	/**
+	 * Maximum number of characters on a line
+	 */
+	private int columns;
+	/**
+	 * Maximum number of visible lines, the current one and the lookahead
+	 */
+	private final int lines;
+	/**
+	 * Number of lines filled by the last layout
+	 */
+	private int lineCount;
+
+	/**
+	 * Create a new viewport
+	 *
+	 * @param columns the maximum number of characters on a line
+	 * @param lines   the maximum number of visible lines
+	 */
+	WordsViewport(int columns, int lines) {
+		if(columns <= 0 || lines <= 0)
+			throw new IllegalArgumentException(
+					"columns and lines must be positive");
+		this.words = new ArrayList<>();
+		this.columns = columns;
+		this.lines = lines;
+		this.lineCount = 0;
+	}
+
+	/**
+	 * Create a viewport without limit, every word of the queue is visible
+	 *
+	 * @return the viewport
+	 */
+	static WordsViewport unbounded() {
+		return new WordsViewport(Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Set the maximum number of characters on a line, the next layout
+	 * will use it
+	 *
+	 * @param columns the number of columns
+	 */
+	void setColumns(int columns) {
+		this.columns = Math.max(1, columns);
+	}
+
+	/**
+	 * Lay out the head of the queue, the iterator is only consumed up to
+	 * the first word that does not fit in the visible lines
+	 *
+	 * @param iterator the iterator over the queue, starting at the current word
+	 */
+	void layout(Iterator<Word> iterator) {
+		words.clear();
+		lineCount = 0;
+		int column = 0;
+		while(iterator.hasNext()) {
+			Word word = iterator.next();
+			if(lineCount == 0 || column + word.length() > columns) {
+				if(lineCount == lines) break;
+				lineCount++;
+				column = 0;
+			}
+			words.add(word);
+			column += word.length() + 1;
+		}
+	}
+
+	/**
+	 * Get the words of the visible lines, starting with the current word
+	 *
+	 * @return the visible words
+	 */
+	List<Word> getWords() {
+		return Collections.unmodifiableList(words);
+	}
+}
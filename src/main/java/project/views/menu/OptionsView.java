@@ -1,5 +1,6 @@
 package project.views.menu;
 
+import javafx.application.Platform;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
@@ -54,7 +55,13 @@ public class OptionsView extends BorderPane implements View {
 				error.setText("Only the host can start the game");
 			else
 				try {
-					MenuController.getInstance().startGame();
+					// the failures of the network come back wrapped
+					MenuController.getInstance()
+								  .startGame()
+								  .whenCompleteAsync((v, e) -> {
+									  if(e != null)
+										  error.setText(e.getCause().getMessage());
+								  }, Platform::runLater);
 				} catch(Exception e) {
 					error.setText(e.getMessage());
 				}
@@ -2,6 +2,7 @@ package project.views.network;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.layout.BorderPane;
@@ -15,25 +16,27 @@ import project.views.View;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class NetworkView extends BorderPane implements View {
 	private final PlayersListView playersList;
 	private final Label title;
 	private final Timeline timer;
-	private NetworkModel model;
+	/**
+	 * The latest pushed players list not yet shown, or null
+	 */
+	private final AtomicReference<List<PlayerModel>> latest;
+	private volatile NetworkModel model;
 
 	public NetworkView() {
 		playersList = new PlayersListView();
+		latest = new AtomicReference<>();
 		title = new Label("");
 		title.setFont(new Font(20));
 		timer = new Timeline(
 				new KeyFrame(
 						Duration.seconds(1),
-						e -> {
-							update();
-							updatePlayersList();
-						}
+						e -> update()
 				)
 		);
 		timer.setCycleCount(Timeline.INDEFINITE);
@@ -62,9 +65,10 @@ public final class NetworkView extends BorderPane implements View {
 							 .addViewer(this);
 		}
 		this.model = model;
-		timer.play();
+		if(model != null) timer.play();
+		else timer.stop();
 		update();
-		updatePlayersList();
+		subscribe();
 	}
 
 	@Override public void update() {
@@ -91,11 +95,27 @@ public final class NetworkView extends BorderPane implements View {
 		}
 	}
 
-	private void updatePlayersList() {
-		if(model != null) {
-			try {
-				model.getPlayersList().ifPresent(playersList::setModels);
-			} catch(IOException ignored) {}
-		} else timer.stop();
+	/**
+	 * Ask the server to push the players list whenever it changes. The lists
+	 * pushed before the next runLater are shown once, the last one.
+	 */
+	private void subscribe() {
+		NetworkModel model = this.model;
+		if(model == null) return;
+		try {
+			model.subscribe(players -> {
+				if(this.model == model && latest.getAndSet(players) == null)
+					Platform.runLater(this::showPlayersList);
+			});
+		} catch(IOException ignored) {}
+	}
+
+	/**
+	 * Show the latest pushed players list
+	 */
+	private void showPlayersList() {
+		List<PlayerModel> players = latest.getAndSet(null);
+		if(players != null && model != null)
+			playersList.setModels(players);
 	}
 }
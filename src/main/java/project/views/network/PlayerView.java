@@ -20,6 +20,20 @@ public final class PlayerView {
 		this.nbCorrectWords = new SimpleIntegerProperty(model.getNbCorrectWords()).asObject();
 	}
 
+	/**
+	 * Update the properties of the row in place, only the cells whose value
+	 * changed are notified
+	 *
+	 * @param model the new state of the player
+	 */
+	public void update(PlayerModel model) {
+		name.set(model.getName());
+		lives.set(model.getLives());
+		score.set(model.getScore());
+		level.set(model.getLevel());
+		nbCorrectWords.set(model.getNbCorrectWords());
+	}
+
 	public ObjectProperty<String> getName() {
 		return name;
 	}
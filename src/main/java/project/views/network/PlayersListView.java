@@ -7,7 +7,10 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import project.models.game.PlayerModel;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public final class PlayersListView extends TableView<PlayerView> {
 	private final TableColumn<PlayerView, String> names;
@@ -16,9 +19,16 @@ public final class PlayersListView extends TableView<PlayerView> {
 	private final TableColumn<PlayerView, Integer> level;
 	private final TableColumn<PlayerView, Integer> nbCorrectWords;
 	private final ObservableList<PlayerView> models;
+	/**
+	 * The rows of the table, keyed by player
+	 *
+	 * @see #key(PlayerModel, Map)
+	 */
+	private final Map<String, PlayerView> rows;
 
 	public PlayersListView() {
 		setItems(models = FXCollections.observableArrayList());
+		rows = new HashMap<>();
 		setEditable(false);
 		setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 		setPlaceholder(new Label("No players"));
@@ -44,12 +54,48 @@ public final class PlayersListView extends TableView<PlayerView> {
 		getColumns().add(nbCorrectWords);
 	}
 
+	/**
+	 * The key of a player, its name followed by the number of players with
+	 * the same name before it in the list
+	 *
+	 * @param model       the player
+	 * @param occurrences the number of players seen so far for each name
+	 * @return the key of the player
+	 */
+	private static String key(PlayerModel model, Map<String, Integer> occurrences) {
+		int occurrence = occurrences.merge(model.getName(), 1, Integer::sum);
+		return model.getName() + '#' + occurrence;
+	}
+
+	/**
+	 * Update the rows of the table with the players. The rows of the players
+	 * already shown are updated in place, only the rows of the players who
+	 * joined or left are added or removed.
+	 *
+	 * @param models the players, or null to clear the table
+	 */
 	public void setModels(List<PlayerModel> models) {
-		if(models == null)
+		if(models == null) {
+			this.rows.clear();
 			this.models.clear();
-		else
-			this.models.setAll(models.stream()
-									 .map(PlayerView::new)
-									 .toList());
+			return;
+		}
+
+		Map<String, Integer> occurrences = new HashMap<>();
+		Map<String, PlayerView> left = new HashMap<>(rows);
+		for(PlayerModel model: models) {
+			String key = key(model, occurrences);
+			PlayerView row = left.remove(key);
+			if(row != null) row.update(model);
+			else {
+				row = new PlayerView(model);
+				rows.put(key, row);
+				this.models.add(row);
+			}
+		}
+		if(!left.isEmpty()) {
+			rows.keySet().removeAll(left.keySet());
+			this.models.removeAll(Set.copyOf(left.values()));
+		}
 	}
 }
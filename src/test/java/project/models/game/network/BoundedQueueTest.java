@@ -0,0 +1,58 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoundedQueueTest {
+	@Test public void dropOldest() {
+		var dropped = new ArrayList<Type>();
+		var queue = new BoundedQueue<Type>(3, Overflow::of, dropped::add);
+		queue.offer(Type.PlayerDelta);
+		queue.offer(Type.Lobby);
+		queue.offer(Type.GameStart);
+		// the oldest snapshot is dropped, the delta and the control message
+		// are kept
+		if(!queue.offer(Type.PlayerState))
+			throw new AssertionError("State update refused");
+		if(!dropped.equals(List.of(Type.Lobby)))
+			throw new AssertionError("Dropped " + dropped);
+		var queued = new ArrayList<Type>();
+		queue.drainTo(queued);
+		if(!queued.equals(List.of(Type.PlayerDelta, Type.GameStart, Type.PlayerState)))
+			throw new AssertionError("Queued " + queued);
+		if(queue.getStats().dropped() != 1)
+			throw new AssertionError("Drop not counted");
+	}
+
+	@Test public void disconnect() {
+		var queue = new BoundedQueue<Type>(2, Overflow.Disconnect);
+		queue.offer(Type.Word);
+		queue.offer(Type.Word);
+		if(queue.offer(Type.Word))
+			throw new AssertionError("Word queued in a full queue");
+		var stats = queue.getStats();
+		if(stats.depth() != 2 || stats.refused() != 1)
+			throw new AssertionError("Stats " + stats);
+	}
+
+	@Test public void evict() {
+		var queue = new BoundedQueue<Type>(2, Overflow::of, type -> {});
+		queue.offer(Type.Ping);
+		queue.offer(Type.Session);
+		// the control message takes the room of the ping, at once
+		if(!queue.offer(Type.MatchOver))
+			throw new AssertionError("Control message refused");
+		// nothing left to evict, the connection must be closed
+		if(queue.offer(Type.GameStart))
+			throw new AssertionError("Control message queued in a full queue");
+		var queued = new ArrayList<Type>();
+		queue.drainTo(queued);
+		if(!queued.equals(List.of(Type.Session, Type.MatchOver)))
+			throw new AssertionError("Queued " + queued);
+		var stats = queue.getStats();
+		if(stats.dropped() != 1 || stats.refused() != 1)
+			throw new AssertionError("Stats " + stats);
+	}
+}
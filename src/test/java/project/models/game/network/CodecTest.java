@@ -0,0 +1,120 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.Test;
+import project.models.game.PlayerModel;
+import project.models.game.words.Word;
+import project.models.menu.MenuModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class CodecTest {
+	private static Object roundTrip(Object message) throws IOException {
+		ByteBuffer frame = Codec.encode(message);
+		int length = Codec.peekLength(frame);
+		if(frame.remaining() != Codec.varintSize(length) + length)
+			throw new AssertionError("Frame length");
+		frame.position(frame.position() + Codec.varintSize(length));
+		Object decoded = Codec.decode(frame);
+		BufferPool.release(frame);
+		return decoded;
+	}
+
+	@Test public void word() throws IOException {
+		var request = (Request.WordRequest) roundTrip(Request.word(Word.malus("été")));
+		if(!request.getWord().isMalus() || !request.getWord().content().equals("été"))
+			throw new AssertionError("Word request");
+		var response = (Response.WordResponse) roundTrip(Response.word(Word.bonus("test")));
+		if(!response.getWord().isBonus() || !response.getWord().content().equals("test"))
+			throw new AssertionError("Word response");
+	}
+
+	@Test public void emptyRequests() throws IOException {
+		for(Request request: List.of(
+				Request.playersList(),
+				Request.playerModel(),
+				Request.configuration(),
+				Request.gameStart(),
+				Request.eliminated(),
+				Request.matchOver()
+		)) {
+			if(((Request) roundTrip(request)).getType() != request.getType())
+				throw new AssertionError(request.getType() + " request");
+		}
+	}
+
+	@Test public void players() throws IOException {
+		var alive = PlayerModel.restore("alice", 3, -20, 150);
+		var solo = PlayerModel.restore("bob", 42, 7);
+		var response = (Response.PlayersListResponse) roundTrip(
+				Response.playersList(List.of(alive, solo)));
+		var players = response.getPlayers();
+		if(players.size() != 2)
+			throw new AssertionError("Players count");
+		var first = players.get(0);
+		if(!first.getName().equals("alice") || first.getLives() != 3 ||
+				first.getScore() != -20 || first.getLevel() != 1)
+			throw new AssertionError("Player with lives");
+		var second = players.get(1);
+		if(!second.getName().equals("bob") || second.hasLives() ||
+				second.getScore() != 42 || second.getNbCorrectWords() != 7)
+			throw new AssertionError("Player without lives");
+		var state = (Request.PlayerStateRequest) roundTrip(Request.playerState(alive));
+		if(!state.getPlayer().getName().equals("alice") ||
+				state.getPlayer().getLives() != 3)
+			throw new AssertionError("Player state");
+		if(((Response.PlayerModelResponse) roundTrip(
+				Response.playerModel(null))).getPlayer() != null)
+			throw new AssertionError("Missing player");
+	}
+
+	@Test public void configuration() throws IOException {
+		var config = new MenuModel(
+				MenuModel.GameMode.Host, "localhost", "3333", 4, 5, 100, "alice");
+		var decoded = ((Response.ConfigurationResponse) roundTrip(
+				Response.configuration(config))).getConfiguration();
+		if(decoded.getGameMode() != MenuModel.GameMode.Host ||
+				!decoded.getHost().equals("localhost") ||
+				!decoded.getPort().equals("3333") ||
+				decoded.getPlayersNumber() != 4 || decoded.getLives() != 5 ||
+				decoded.getNbWord() != 100 ||
+				!decoded.getPlayerName().equals("alice"))
+			throw new AssertionError("Configuration");
+	}
+
+	@Test public void malformed() {
+		for(byte[] bytes: new byte[][]{{}, {0x7F}, {0, 9}, {(byte) 0x80, 0}}) {
+			try {
+				Codec.decode(ByteBuffer.wrap(bytes));
+				throw new AssertionError("Decoded a malformed message");
+			} catch(IOException ignored) {}
+		}
+	}
+
+	@Test public void shared() throws IOException {
+		var message = Response.word(Word.normal("bonjour"));
+		var pooled = Codec.encode(message);
+		var frame = Codec.encodeShared(message);
+		// the shared frame holds only its bytes and cannot reach the pool
+		if(!frame.isReadOnly() || frame.capacity() != pooled.remaining())
+			throw new AssertionError("Shared frame of " + frame.capacity() + " bytes");
+		if(!frame.equals(pooled))
+			throw new AssertionError("Shared frame content");
+		BufferPool.release(pooled);
+	}
+
+	@Test public void size() throws IOException {
+		var message = Response.word(Word.normal("bonjour"));
+		var bytes = new ByteArrayOutputStream();
+		try(var output = new ObjectOutputStream(bytes)) {
+			output.writeObject(message);
+		}
+		var frame = Codec.encode(message);
+		if(frame.remaining() * 10 > bytes.size())
+			throw new AssertionError("Frame of " + frame.remaining() + " bytes");
+		BufferPool.release(frame);
+	}
+}
@@ -0,0 +1,45 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class DispatcherTest {
+	@Test public void empty() {
+		var dispatcher = new Dispatcher();
+		// a type without handler answers null, and the response of one call
+		// cannot be changed by another caller
+		var first = dispatcher.dispatch(Request.playersList());
+		first.obtrudeException(new IllegalStateException());
+		var second = dispatcher.dispatch(Request.playersList());
+		if(!second.isDone() || second.join() != null)
+			throw new AssertionError("Empty response changed");
+	}
+
+	@Test public void chain() {
+		var dispatcher = new Dispatcher();
+		var calls = new ArrayList<String>();
+		var timing = new Interceptor.Timing();
+		dispatcher.intercept(timing);
+		dispatcher.intercept((request, next) -> {
+			calls.add("outer");
+			return next.handle(request);
+		});
+		dispatcher.intercept(Interceptor.validating(request -> calls.size() < 3));
+		dispatcher.register(Type.PlayersList, request -> {
+			calls.add("handler");
+			return CompletableFuture.completedFuture(Response.playersList(List.of()));
+		});
+		if(dispatcher.dispatch(Request.playersList()).join() == null)
+			throw new AssertionError("Handler not called");
+		// the validation fails from now on and drops the request
+		if(dispatcher.dispatch(Request.playersList()).join() != null)
+			throw new AssertionError("Invalid request handled");
+		if(!calls.equals(List.of("outer", "handler", "outer")))
+			throw new AssertionError("Calls " + calls);
+		if(timing.getCount(Type.PlayersList) != 2 || timing.getCount(Type.Word) != 0)
+			throw new AssertionError("Requests not counted");
+	}
+}
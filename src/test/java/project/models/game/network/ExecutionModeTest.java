@@ -0,0 +1,107 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the platform and the virtual execution modes, the modes which are
+ * not supported by the runtime are skipped. The modes are compared by
+ * {@code ExecutionModeBenchmark} in the benchmark source set.
+ */
+public class ExecutionModeTest {
+	private static final int THREADS = 2000;
+	private static final int SENDERS = 50;
+	private static final int REQUESTS = 20;
+
+	@Test public void blockedThreads() throws InterruptedException {
+		for(ExecutionMode mode: ExecutionMode.values()) {
+			if(!mode.isSupported()) continue;
+			var release = new CountDownLatch(1);
+			var started = new CountDownLatch(THREADS);
+			var threads = new Thread[THREADS];
+			for(int i = 0; i < THREADS; i++) {
+				threads[i] = mode.newThread(() -> {
+					started.countDown();
+					try {
+						release.await();
+					} catch(InterruptedException ignored) {}
+				}, "Blocked " + i);
+				threads[i].start();
+			}
+			started.await();
+			release.countDown();
+			for(Thread thread: threads)
+				thread.join();
+		}
+	}
+
+	@Test public void roundTrips()
+	throws IOException, InterruptedException {
+		int port = 3400;
+		for(ExecutionMode mode: ExecutionMode.values()) {
+			if(!mode.isSupported()) continue;
+			var server = new Server(++port, mode);
+			server.start();
+			var client = new Client(InetAddress.getLoopbackAddress(), port, mode);
+			client.start();
+
+			var received = new AtomicInteger();
+			var senders = new Thread[SENDERS];
+			for(int i = 0; i < SENDERS; i++) {
+				senders[i] = mode.newThread(() -> {
+					try {
+						for(int j = 0; j < REQUESTS; j++) {
+							client.call(Request.configuration()).join();
+							received.incrementAndGet();
+						}
+					} catch(CompletionException ignored) {}
+				}, "Sender " + i);
+				senders[i].start();
+			}
+			for(Thread sender: senders)
+				sender.join();
+
+			client.stop();
+			server.stop();
+			if(received.get() != SENDERS * REQUESTS)
+				throw new AssertionError(
+						mode + ": " + received.get() + " responses received");
+		}
+	}
+
+	@Test public void handlerExecutors() throws InterruptedException {
+		var executor = new HandlerExecutor(
+				"Test handlers", ExecutionMode.Platform, 1, 1,
+				HandlerExecutor.Policy.Abort
+		);
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var name = new String[1];
+		executor.execute(() -> {
+			name[0] = Thread.currentThread().getName();
+			started.countDown();
+			try {
+				release.await();
+			} catch(InterruptedException ignored) {}
+		});
+		started.await();
+		executor.execute(() -> {});
+		try {
+			executor.execute(() -> {});
+			throw new AssertionError("Task queued beyond the capacity");
+		} catch(RejectedExecutionException ignored) {}
+		var stats = executor.getStats();
+		if(stats.queued() != 1 || stats.rejected() != 1 || stats.threads() != 1)
+			throw new AssertionError("Stats " + stats);
+		release.countDown();
+		executor.shutdown();
+		if(!name[0].startsWith("Test handlers"))
+			throw new AssertionError("Task ran on " + name[0]);
+	}
+}
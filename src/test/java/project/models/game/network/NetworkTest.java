@@ -50,7 +50,7 @@ public class NetworkTest {
 		if(network
 				.getModel()
 				.getPlayersList()
-				.orElseThrow()
+				.join()
 				.size() != 1)
 			throw new AssertionError("Received players list");
 	}
@@ -67,7 +67,7 @@ public class NetworkTest {
 		MenuModel config = network
 				.getModel()
 				.getConfiguration()
-				.orElseThrow();
+				.join();
 
 		if(!MenuController.getInstance().getModel().equals(config))
 			throw new AssertionError("Received configuration");
@@ -84,7 +84,7 @@ public class NetworkTest {
 		if(network
 				.getModel()
 				.getNumberOfPlayers()
-				.orElseThrow() != 1)
+				.join() != 1)
 			throw new AssertionError("Received number of players");
 	}
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.Test;
+import project.models.game.PlayerModel;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PlayersListCacheTest {
+	@Test public void staleWhileRefreshing() throws InterruptedException {
+		var version = new AtomicLong();
+		var release = new CountDownLatch(1);
+		var refreshed = new CountDownLatch(2);
+		var submitted = new AtomicLong();
+		var cache = new PlayersListCache(
+				() -> {
+					if(version.get() > 0) {
+						try {
+							release.await(5, TimeUnit.SECONDS);
+						} catch(InterruptedException ignored) {}
+					}
+					refreshed.countDown();
+					return List.of(PlayerModel.withLivesAndLevel("v" + version.get(), 3));
+				},
+				version::get,
+				command -> {
+					submitted.incrementAndGet();
+					new Thread(command).start();
+				}
+		);
+		cache.setStale(10_000);
+		var first = cache.get().join();
+		version.incrementAndGet();
+		// the stale response is served without waiting for the slow refresh
+		var stale = cache.get();
+		if(!stale.isDone() || stale.join() != first)
+			throw new AssertionError("Stale response not served at once");
+		// a burst during the slow refresh shares it
+		for(int i = 0; i < 50; i++)
+			if(cache.get().join() != first)
+				throw new AssertionError("Stale response not served");
+		release.countDown();
+		if(!refreshed.await(5, TimeUnit.SECONDS))
+			throw new AssertionError("List not refreshed");
+		var stats = cache.getStats();
+		if(stats.stale() != 51 || stats.misses() != 1 || stats.refreshes() != 2)
+			throw new AssertionError("Stats " + stats);
+		if(submitted.get() != 1)
+			throw new AssertionError(submitted.get() + " refreshes submitted");
+	}
+}
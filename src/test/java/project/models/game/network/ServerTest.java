@@ -0,0 +1,318 @@
+package project.models.game.network;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import project.models.game.PlayerModel;
+import project.models.game.words.Word;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ServerTest {
+	private static final int PORT = 3500;
+	private static final int CLIENTS = 300;
+	private static Server server;
+	private static final List<Client> clients = new ArrayList<>();
+
+	@BeforeAll public static void setup() throws IOException {
+		server = new Server(PORT);
+		server.setHandshakeTimeout(500);
+		server.start();
+		for(int i = 0; i < CLIENTS; i++) {
+			var client = new Client(InetAddress.getLoopbackAddress(), PORT);
+			client.start();
+			clients.add(client);
+		}
+	}
+
+	@AfterAll public static void teardown()
+	throws IOException, InterruptedException {
+		for(Client client: clients)
+			client.stop();
+		server.stop();
+	}
+
+	private static void awaitSessions() throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while(clients.stream().anyMatch(c -> c.getSession() < 0)) {
+			if(System.currentTimeMillis() > end)
+				throw new AssertionError("Session not received");
+			Thread.sleep(10);
+		}
+	}
+
+	@Test public void sessions() throws InterruptedException {
+		awaitSessions();
+		Set<Long> sessions = new HashSet<>();
+		for(Client client: clients)
+			if(!sessions.add(client.getSession()))
+				throw new AssertionError("Duplicate session");
+	}
+
+	@Test public void broadcast() throws IOException, InterruptedException {
+		awaitSessions();
+		clients.get(0).send(Request.word(Word.malus("tempête")));
+		for(Client client: clients.subList(1, CLIENTS)) {
+			var response = (Response.WordResponse) client.receive(Type.Word, 5000);
+			if(response == null || !response.getWord().content().equals("tempête"))
+				throw new AssertionError("Word not received");
+		}
+		if(clients.get(0).tryReceive(Type.Word) != null)
+			throw new AssertionError("Word received by its sender");
+	}
+
+	@Test public void deltas() throws IOException, InterruptedException {
+		awaitSessions();
+		var sender = clients.get(1);
+		var receiver = clients.get(2);
+		sender.setTick(20);
+		var player = PlayerModel.withLivesAndLevel("alice", 3);
+		sender.stream(player);
+		// the changes made within a tick are sent as a single delta
+		for(int i = 0; i < 1000; i++) {
+			player.addScore(2);
+			player.incrementCorrectWord();
+			sender.stream(player);
+		}
+		player.decrementLife();
+		sender.stream(player);
+		long end = System.currentTimeMillis() + 5000;
+		PlayerDelta delta;
+		while((delta = receiver.getRoom().get(sender.getSession())) == null ||
+				delta.score() != 2000 || delta.lives() != 2) {
+			if(System.currentTimeMillis() > end)
+				throw new AssertionError("Delta not received: " + delta);
+			Thread.sleep(10);
+		}
+		if(delta.nbCorrectWords() != 1000 || delta.level() != 10)
+			throw new AssertionError("Delta fields: " + delta);
+		var stored = server.getPlayers()
+						   .stream()
+						   .filter(p -> p.getName().equals("alice"))
+						   .findFirst()
+						   .orElseThrow(() -> new AssertionError("No player"));
+		if(stored.getScore() != 2000 || stored.getLives() != 2)
+			throw new AssertionError("Players table not updated");
+	}
+
+	@Test public void playersListBurst() throws InterruptedException {
+		awaitSessions();
+		// a first call so the burst only finds the cache filled
+		clients.get(0).call(Request.playersList()).join();
+		var before = server.getPlayersListStats();
+		var calls = clients.stream()
+						   .map(c -> c.call(Request.playersList(), 5000))
+						   .toList();
+		calls.forEach(CompletableFuture::join);
+		var after = server.getPlayersListStats();
+		long served = after.hits() + after.stale() + after.misses()
+				- before.hits() - before.stale() - before.misses();
+		if(served != CLIENTS)
+			throw new AssertionError(served + " requests counted");
+		if(after.refreshes() - before.refreshes() > 1)
+			throw new AssertionError("Burst refreshed the list more than once");
+	}
+
+	@Test public void lobby() throws IOException, InterruptedException {
+		awaitSessions();
+		var subscriber = clients.get(3);
+		var lobbies = new LinkedBlockingQueue<List<PlayerModel>>();
+		subscriber.subscribe(lobbies::add);
+		if(lobbies.poll(5, TimeUnit.SECONDS) == null)
+			throw new AssertionError("Lobby not received");
+		var player = PlayerModel.withLivesAndLevel("bob", 3);
+		clients.get(4).stream(player);
+		List<PlayerModel> players;
+		do {
+			players = lobbies.poll(5, TimeUnit.SECONDS);
+			if(players == null)
+				throw new AssertionError("Change not pushed");
+		} while(players.stream().noneMatch(p -> p.getName().equals("bob")));
+		// an idle lobby pushes nothing
+		Thread.sleep(200);
+		lobbies.clear();
+		Thread.sleep(300);
+		if(!lobbies.isEmpty())
+			throw new AssertionError(lobbies.size() + " lobbies pushed while idle");
+	}
+
+	@Test public void lobbyDuringMatch() throws IOException, InterruptedException {
+		var server = new Server(PORT + 2);
+		server.start();
+		var subscriber = new Client(InetAddress.getLoopbackAddress(), PORT + 2);
+		var player = new Client(InetAddress.getLoopbackAddress(), PORT + 2);
+		subscriber.start();
+		player.start();
+		try {
+			var lobbies = new LinkedBlockingQueue<List<PlayerModel>>();
+			subscriber.subscribe(lobbies::add);
+			if(lobbies.poll(5, TimeUnit.SECONDS) == null)
+				throw new AssertionError("Lobby not received");
+			long end = System.currentTimeMillis() + 5000;
+			while(player.getSession() < 0) {
+				if(System.currentTimeMillis() > end)
+					throw new AssertionError("Session not received");
+				Thread.sleep(10);
+			}
+			// the lobby of the join may still be on its way
+			Thread.sleep(100);
+			lobbies.clear();
+			server.startMatch();
+			player.stream(PlayerModel.withLivesAndLevel("dave", 3));
+			// the players follow each other with deltas during the match
+			if(lobbies.poll(300, TimeUnit.MILLISECONDS) != null)
+				throw new AssertionError("Lobby pushed during the match");
+			server.eliminate(player.getSession());
+			var players = lobbies.poll(5, TimeUnit.SECONDS);
+			if(players == null || players.stream().noneMatch(p -> p.getName().equals("dave")))
+				throw new AssertionError("Lobby not pushed after the match");
+		} finally {
+			subscriber.stop();
+			player.stop();
+			server.stop();
+		}
+	}
+
+	@Test public void rateLimit() throws InterruptedException {
+		awaitSessions();
+		var flooder = clients.get(5);
+		long before = server.getLimitedRequests();
+		var calls = new ArrayList<CompletableFuture<Response>>();
+		for(int i = 0; i < 500; i++)
+			calls.add(flooder.call(Request.playersList(), 5000));
+		// the other clients are still answered
+		clients.get(6).call(Request.playersList()).join();
+		// the calls over the limit are refused instead of timing out
+		int refused = 0;
+		for(var call: calls) {
+			try {
+				call.join();
+			} catch(CompletionException e) {
+				if(!(e.getCause() instanceof IOException))
+					throw new AssertionError("Call not refused: " + e.getCause());
+				refused++;
+			}
+		}
+		if(refused < 400 || server.getLimitedRequests() - before < refused)
+			throw new AssertionError(refused + " calls refused");
+	}
+
+	@Test public void coalescedStates() throws IOException, InterruptedException {
+		awaitSessions();
+		var sender = clients.get(7);
+		var receiver = clients.get(8);
+		server.setRateLimit(Type.PlayerDelta, 10, 1);
+		try {
+			sender.send(Request.playerState(PlayerModel.withLivesAndLevel("carol", 3)));
+			// the deltas over the limit are merged, none of them is lost
+			for(int i = 1; i <= 200; i++)
+				sender.send(Request.playerDelta(
+						new PlayerDelta(-1, PlayerDelta.SCORE, i, 0, 0, 0)));
+			sender.send(Request.playerDelta(
+					new PlayerDelta(-1, PlayerDelta.LIVES, 0, 1, 0, 0)));
+			long end = System.currentTimeMillis() + 5000;
+			PlayerDelta delta;
+			while((delta = receiver.getRoom().get(sender.getSession())) == null ||
+					delta.score() != 200 || delta.lives() != 1) {
+				if(System.currentTimeMillis() > end)
+					throw new AssertionError("Deltas lost: " + delta);
+				Thread.sleep(10);
+			}
+			var stored = server.getPlayers()
+							   .stream()
+							   .filter(p -> p.getName().equals("carol"))
+							   .findFirst()
+							   .orElseThrow(() -> new AssertionError("No player"));
+			if(stored.getScore() != 200 || stored.getLives() != 1)
+				throw new AssertionError("Players table not updated");
+		} finally {
+			server.setRateLimit(Type.PlayerDelta, 50, 100);
+		}
+	}
+
+	@Test public void heartbeat() throws IOException, InterruptedException {
+		var server = new Server(PORT + 1);
+		server.setHeartbeat(50, 300);
+		server.start();
+		var client = new Client(InetAddress.getLoopbackAddress(), PORT + 1);
+		client.start();
+		try(var silent = new Socket(InetAddress.getLoopbackAddress(), PORT + 1)) {
+			// a peer which joins and then never answers
+			var hello = Codec.encode(Request.hello(Server.PROTOCOL_VERSION));
+			silent.getOutputStream().write(
+					hello.array(),
+					hello.arrayOffset() + hello.position(),
+					hello.remaining()
+			);
+			silent.setSoTimeout(5000);
+			var in = silent.getInputStream();
+			while(in.read() != -1) ;
+			if(server.getConnectionStats().reaped() != 1)
+				throw new AssertionError("Silent peer not reaped");
+		}
+		if(!client.isConnected() || server.getRoundTripTime(client.getSession()) < 0)
+			throw new AssertionError("Answering client not pinged");
+		server.stop();
+		long end = System.currentTimeMillis() + 5000;
+		while(client.isConnected()) {
+			if(System.currentTimeMillis() > end)
+				throw new AssertionError("Stopped server not noticed");
+			Thread.sleep(10);
+		}
+		var call = client.call(Request.configuration());
+		if(!call.isCompletedExceptionally())
+			throw new AssertionError("Call on a lost connection");
+		client.stop();
+	}
+
+	@Test public void joins() throws IOException, InterruptedException {
+		awaitSessions();
+		var joining = new ArrayList<Client>();
+		for(int i = 0; i < 200; i++) {
+			var client = new Client(InetAddress.getLoopbackAddress(), PORT);
+			client.start();
+			joining.add(client);
+		}
+		long end = System.currentTimeMillis() + 5000;
+		while(joining.stream().anyMatch(c -> c.getSession() < 0)) {
+			if(System.currentTimeMillis() > end)
+				throw new AssertionError("Session not received");
+			Thread.sleep(1);
+		}
+		for(Client client: joining)
+			client.stop();
+	}
+
+	@Test public void stalledHandshake()
+	throws IOException, InterruptedException {
+		try(var stalled = new Socket(InetAddress.getLoopbackAddress(), PORT)) {
+			// a connection which never sends its hello does not stop others
+			var client = new Client(InetAddress.getLoopbackAddress(), PORT);
+			client.start();
+			long end = System.currentTimeMillis() + 1000;
+			while(client.getSession() < 0 && System.currentTimeMillis() < end)
+				Thread.sleep(1);
+			client.stop();
+			if(client.getSession() < 0)
+				throw new AssertionError("Client did not join");
+			long timedOut = server.getConnectionStats().timedOut();
+			stalled.setSoTimeout(5000);
+			if(stalled.getInputStream().read() != -1)
+				throw new AssertionError("Stalled connection not closed");
+			if(server.getConnectionStats().timedOut() <= timedOut)
+				throw new AssertionError("Timeout not counted");
+		}
+	}
+}